@@ -0,0 +1,202 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the booking calendar of a room as a compressed bitmap keyed by epoch day.
+ * Days are grouped into 64-day chunks and each chunk is one long with a bit set per booked night,
+ * so a whole stay is checked or claimed with a few mask operations. Only chunks holding at least
+ * one booked night are stored, so memory follows how fragmented the bookings are rather than how
+ * far ahead the calendar reaches, and long free stretches are skipped without being visited.
+ * <p>
+ * The chunks live in one sorted array of (chunk key, word) pairs that is replaced on every change,
+ * so readers never need a lock and always see a consistent calendar. Writers must be serialized
+ * by the caller.
+ */
+public class AvailabilityCalendar {
+
+    /**
+     * The number of days a single chunk holds.
+     * */
+    private static final int DAYS_PER_CHUNK = 64;
+
+    /**
+     * The stored chunks as (key, word) pairs sorted by key: chunk key at even
+     * indexes, booked-night word at the following odd index.
+     * */
+    private volatile long[] chunks;
+
+    /**
+     * Initializes a new calendar with every day available.
+     */
+    public AvailabilityCalendar() {
+        this.chunks = new long[0];
+    }
+
+    /**
+     * Gets the number of 64-day chunks holding at least one booked night.
+     * @return The number of stored chunks.
+     */
+    public int getChunkCount() {
+        return chunks.length / 2;
+    }
+
+    /**
+     * Gets the stored chunks. The array is never changed in place, so it can be shared.
+     * @return The (chunk key, word) pairs sorted by key.
+     */
+    long[] getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Replaces the stored chunks, for example with ones read back from a snapshot.
+     * @param chunks The (chunk key, word) pairs sorted by key; the array must not be changed afterwards.
+     */
+    void setChunks(long[] chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Checks if a single day is booked.
+     * @param day The epoch day to check.
+     * @return True if the night starting on that day is booked; false otherwise.
+     */
+    public boolean isBooked(int day) {
+        long[] current = chunks;
+        int index = indexOf(current, chunkKey(day));
+        return index < current.length && current[index] == chunkKey(day)
+                && (current[index + 1] & (1L << day)) != 0;
+    }
+
+    /**
+     * Checks if every night in a range is free.
+     * @param from The first day of the range (inclusive).
+     * @param to The day after the last night of the range (exclusive).
+     * @return True if no night in the range is booked; false otherwise.
+     */
+    public boolean isFree(int from, int to) {
+        if (from >= to) {
+            return true;
+        }
+        long[] current = chunks;
+        int lastKey = chunkKey(to - 1);
+        for (int i = indexOf(current, chunkKey(from)); i < current.length && current[i] <= lastKey; i += 2) {
+            if ((current[i + 1] & chunkMask((int) current[i], from, to)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks every night in a range as booked.
+     * @param from The first day of the range (inclusive).
+     * @param to The day after the last night of the range (exclusive).
+     */
+    public void book(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        long[] current = chunks;
+        int firstKey = chunkKey(from);
+        int lastKey = chunkKey(to - 1);
+        int start = indexOf(current, firstKey);
+        int end = indexOf(current, lastKey + 1);
+        int existing = (end - start) / 2;
+        int spanned = lastKey - firstKey + 1;
+
+        long[] updated = new long[current.length + 2 * (spanned - existing)];
+        System.arraycopy(current, 0, updated, 0, start);
+        int i = start;
+        int out = start;
+        for (int key = firstKey; key <= lastKey; key++) {
+            long word = 0;
+            if (i < end && current[i] == key) {
+                word = current[i + 1];
+                i += 2;
+            }
+            updated[out] = key;
+            updated[out + 1] = word | chunkMask(key, from, to);
+            out += 2;
+        }
+        System.arraycopy(current, end, updated, out, current.length - end);
+        chunks = updated;
+    }
+
+    /**
+     * Marks every night in a range as available again.
+     * @param from The first day of the range (inclusive).
+     * @param to The day after the last night of the range (exclusive).
+     */
+    public void release(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        long[] current = chunks;
+        int start = indexOf(current, chunkKey(from));
+        int end = indexOf(current, chunkKey(to - 1) + 1);
+
+        long[] updated = new long[current.length];
+        System.arraycopy(current, 0, updated, 0, start);
+        int out = start;
+        for (int i = start; i < end; i += 2) {
+            long word = current[i + 1] & ~chunkMask((int) current[i], from, to);
+            if (word != 0) {
+                updated[out] = current[i];
+                updated[out + 1] = word;
+                out += 2;
+            }
+        }
+        System.arraycopy(current, end, updated, out, current.length - end);
+        chunks = out + current.length - end == updated.length ? updated : Arrays.copyOf(updated, out + current.length - end);
+    }
+
+    /**
+     * Gets the key of the chunk holding a day.
+     * @param day The epoch day.
+     * @return The chunk key.
+     */
+    private static int chunkKey(int day) {
+        return day >> 6;
+    }
+
+    /**
+     * Finds the position of the first stored chunk whose key is at least the given key.
+     * @param current The stored chunks.
+     * @param key The chunk key to look for.
+     * @return The even array index of that chunk, or the array length if there is none.
+     */
+    private static int indexOf(long[] current, int key) {
+        int low = 0;
+        int high = current.length / 2;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current[2 * mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return 2 * low;
+    }
+
+    /**
+     * Builds the mask of the nights of a range that fall inside a given chunk.
+     * @param key The key of the chunk.
+     * @param from The first day of the range (inclusive).
+     * @param to The day after the last night of the range (exclusive).
+     * @return The mask with one bit set per night of the range in the chunk.
+     */
+    private static long chunkMask(int key, int from, int to) {
+        long chunkStart = (long) key * DAYS_PER_CHUNK;
+        int low = (int) (Math.max(from, chunkStart) - chunkStart);
+        int high = (int) (Math.min(to, chunkStart + DAYS_PER_CHUNK) - chunkStart);
+        return (-1L << low) & (-1L >>> (DAYS_PER_CHUNK - high));
+    }
+}
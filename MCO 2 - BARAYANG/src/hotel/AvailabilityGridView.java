@@ -0,0 +1,156 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableColumnModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * A window showing a hotel's rooms against the nights of its booking horizon, one coloured
+ * cell per room and night. The room names stay in place while the nights scroll sideways.
+ * The grid is backed by an {@link AvailabilityTableModel}, so only the visible cells are read
+ * and the grid follows bookings as they are made.
+ */
+public class AvailabilityGridView extends JFrame {
+
+    /**
+     * The width of a night's column in pixels.
+     * */
+    private static final int NIGHT_WIDTH = 28;
+
+    /**
+     * The width of the room name column in pixels.
+     * */
+    private static final int ROOM_WIDTH = 120;
+
+    /**
+     * The colour of a free night.
+     * */
+    private static final Color AVAILABLE = new Color(0xC8E6C9);
+
+    /**
+     * The colour of a booked night.
+     * */
+    private static final Color BOOKED = new Color(0xEF9A9A);
+
+    /**
+     * The model shown.
+     * */
+    private final AvailabilityTableModel model;
+
+    /**
+     * The grid of nights.
+     * */
+    private final JTable nightTable;
+
+    /**
+     * The column of room names shown beside the grid.
+     * */
+    private final JTable roomTable;
+
+    /**
+     * Initializes a new AvailabilityGridView of a hotel.
+     * @param hotel The hotel to show.
+     */
+    public AvailabilityGridView(Hotel hotel) {
+        this.model = new AvailabilityTableModel(hotel);
+        setTitle("Availability - " + hotel.getName());
+        setSize(900, 600);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        // Both tables share the model and row selection; each keeps only its own columns
+        nightTable = new JTable(model);
+        nightTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        nightTable.setDefaultRenderer(Boolean.class, new NightRenderer());
+        nightTable.setShowGrid(true);
+        nightTable.setGridColor(Color.WHITE);
+        nightTable.getTableHeader().setReorderingAllowed(false);
+
+        roomTable = new JTable(model);
+        roomTable.setSelectionModel(nightTable.getSelectionModel());
+        roomTable.setFocusable(false);
+        roomTable.getTableHeader().setReorderingAllowed(false);
+
+        configureColumns();
+        model.addTableModelListener(event -> {
+            if (event.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                SwingUtilities.invokeLater(this::configureColumns);
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(nightTable);
+        JViewport roomViewport = new JViewport();
+        roomViewport.setView(roomTable);
+        roomViewport.setPreferredSize(new Dimension(ROOM_WIDTH, 0));
+        scrollPane.setRowHeader(roomViewport);
+        scrollPane.setCorner(ScrollPaneConstants.UPPER_LEFT_CORNER, roomTable.getTableHeader());
+        add(scrollPane, BorderLayout.CENTER);
+        add(new JLabel("Green: available   Red: booked", SwingConstants.CENTER), BorderLayout.SOUTH);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                model.detach();
+            }
+        });
+    }
+
+    /**
+     * Scrolls to a room and selects its row.
+     * @param room The room to show.
+     */
+    public void showRoom(Room room) {
+        int row = model.rowOf(room);
+        if (row >= 0) {
+            nightTable.getSelectionModel().setSelectionInterval(row, row);
+            nightTable.scrollRectToVisible(nightTable.getCellRect(row, 0, true));
+        }
+    }
+
+    /**
+     * Keeps the room column in the room table and the nights in the night table, and sizes
+     * them. The tables rebuild their columns whenever the booking horizon changes.
+     */
+    private void configureColumns() {
+        TableColumnModel nightColumns = nightTable.getColumnModel();
+        if (nightColumns.getColumnCount() > 0 && nightColumns.getColumn(0).getModelIndex() == 0) {
+            nightColumns.removeColumn(nightColumns.getColumn(0));
+        }
+        for (int i = 0; i < nightColumns.getColumnCount(); i++) {
+            nightColumns.getColumn(i).setMinWidth(NIGHT_WIDTH);
+            nightColumns.getColumn(i).setPreferredWidth(NIGHT_WIDTH);
+        }
+
+        TableColumnModel roomColumns = roomTable.getColumnModel();
+        while (roomColumns.getColumnCount() > 1) {
+            roomColumns.removeColumn(roomColumns.getColumn(roomColumns.getColumnCount() - 1));
+        }
+        if (roomColumns.getColumnCount() == 1) {
+            roomColumns.getColumn(0).setPreferredWidth(ROOM_WIDTH);
+        }
+    }
+
+    /**
+     * Paints a night as a coloured cell with no text.
+     */
+    private static final class NightRenderer extends DefaultTableCellRenderer {
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+            Color color = Boolean.TRUE.equals(value) ? BOOKED : AVAILABLE;
+            setBackground(isSelected ? color.darker() : color);
+            return this;
+        }
+    }
+}
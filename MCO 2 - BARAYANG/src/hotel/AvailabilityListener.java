@@ -0,0 +1,29 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * Interface for observers of which nights of a hotel's rooms are booked, such as a view
+ * that shows them. Unlike a {@link HotelEventListener}, it is told after a change has become
+ * visible, by the thread that made it. It must return quickly and must not block.
+ */
+public interface AvailabilityListener {
+
+    /**
+     * Called when some nights of a room have been booked or released.
+     * @param hotel The hotel.
+     * @param room The room.
+     * @param checkIn The first night changed.
+     * @param checkOut The day after the last night changed.
+     */
+    void nightsChanged(Hotel hotel, Room room, int checkIn, int checkOut);
+
+    /**
+     * Called when a room has been added or removed, or the booking horizon has changed.
+     * @param hotel The hotel.
+     */
+    void roomsChanged(Hotel hotel);
+}
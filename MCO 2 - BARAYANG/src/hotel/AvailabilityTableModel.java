@@ -0,0 +1,211 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Table model of a hotel's rooms against the nights of its booking horizon. Column 0 holds
+ * the room name and column d holds whether the room is booked on date d. Nothing is copied
+ * per cell: a JTable only asks for the cells it paints, and each one is read from the room's
+ * calendar when asked for, so a hotel with thousands of rooms costs no more than the visible
+ * part of the grid.
+ * <p>
+ * The model listens to the hotel. Changes made by any thread are gathered up and applied on
+ * the Event Dispatch Thread in one go, as a single row update for booked or released nights
+ * and a reload when rooms or the booking horizon change.
+ */
+public class AvailabilityTableModel extends AbstractTableModel implements AvailabilityListener {
+
+    /**
+     * The hotel shown.
+     * */
+    private final Hotel hotel;
+
+    /**
+     * The rooms shown, one per row, in the order they were added.
+     * */
+    private List<Room> rooms;
+
+    /**
+     * The slot of each row's room. Slots grow in the order rooms are added, so this is sorted.
+     * */
+    private int[] slots;
+
+    /**
+     * The number of nights shown.
+     * */
+    private int nights;
+
+    /**
+     * The lowest slot whose nights changed since the last refresh, or Integer.MAX_VALUE if none.
+     * */
+    private int dirtyFrom = Integer.MAX_VALUE;
+
+    /**
+     * The highest slot whose nights changed since the last refresh, or -1 if none.
+     * */
+    private int dirtyTo = -1;
+
+    /**
+     * Whether the rooms or booking horizon changed since the last refresh.
+     * */
+    private boolean reloadPending;
+
+    /**
+     * Whether a refresh is waiting to run on the Event Dispatch Thread.
+     * */
+    private boolean refreshScheduled;
+
+    /**
+     * Initializes a new AvailabilityTableModel and starts listening to the hotel.
+     * Call {@link #detach()} when the model is no longer shown.
+     * @param hotel The hotel to show.
+     */
+    public AvailabilityTableModel(Hotel hotel) {
+        this.hotel = hotel;
+        hotel.addAvailabilityListener(this); // Before loading, so no change is missed
+        load();
+    }
+
+    /**
+     * Stops listening to the hotel.
+     */
+    public void detach() {
+        hotel.removeAvailabilityListener(this);
+    }
+
+    /**
+     * Gets the hotel shown.
+     * @return The hotel.
+     */
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    /**
+     * Gets the room shown in a row.
+     * @param row The row.
+     * @return The room.
+     */
+    public Room getRoomAt(int row) {
+        return rooms.get(row);
+    }
+
+    /**
+     * Finds the row of a room.
+     * @param room The room.
+     * @return The row showing the room, or -1 if it is not shown.
+     */
+    public int rowOf(Room room) {
+        int row = Arrays.binarySearch(slots, room.getSlot());
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * Reads the rooms and booking horizon of the hotel.
+     */
+    private void load() {
+        rooms = hotel.getRooms();
+        slots = new int[rooms.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = rooms.get(i).getSlot();
+        }
+        nights = hotel.getBookingHorizon();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rooms.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return nights + 1;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column == 0 ? "Room" : String.valueOf(column);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : Boolean.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Room room = rooms.get(row);
+        return column == 0 ? room.getName() : Boolean.valueOf(room.isBookedOn(column));
+    }
+
+    @Override
+    public void nightsChanged(Hotel hotel, Room room, int checkIn, int checkOut) {
+        synchronized (this) {
+            dirtyFrom = Math.min(dirtyFrom, room.getSlot());
+            dirtyTo = Math.max(dirtyTo, room.getSlot());
+            scheduleRefresh();
+        }
+    }
+
+    @Override
+    public void roomsChanged(Hotel hotel) {
+        synchronized (this) {
+            reloadPending = true;
+            scheduleRefresh();
+        }
+    }
+
+    /**
+     * Makes sure a refresh will run on the Event Dispatch Thread. The caller must hold the
+     * model's lock.
+     */
+    private void scheduleRefresh() {
+        if (!refreshScheduled) {
+            refreshScheduled = true;
+            SwingUtilities.invokeLater(this::refresh);
+        }
+    }
+
+    /**
+     * Applies the changes gathered since the last refresh. Runs on the Event Dispatch Thread.
+     */
+    private void refresh() {
+        int from;
+        int to;
+        boolean reload;
+        synchronized (this) {
+            from = dirtyFrom;
+            to = dirtyTo;
+            reload = reloadPending;
+            dirtyFrom = Integer.MAX_VALUE;
+            dirtyTo = -1;
+            reloadPending = false;
+            refreshScheduled = false;
+        }
+        if (reload) {
+            int oldNights = nights;
+            load();
+            if (nights != oldNights) {
+                fireTableStructureChanged();
+            } else {
+                fireTableDataChanged();
+            }
+        } else if (from <= to) {
+            int firstRow = Arrays.binarySearch(slots, from);
+            firstRow = firstRow >= 0 ? firstRow : -firstRow - 1;
+            int lastRow = Arrays.binarySearch(slots, to);
+            lastRow = lastRow >= 0 ? lastRow : -lastRow - 2;
+            if (firstRow <= lastRow) {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        }
+    }
+}
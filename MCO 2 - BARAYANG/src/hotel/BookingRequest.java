@@ -0,0 +1,93 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * This class represents a single booking submitted as part of a batch.
+ */
+public class BookingRequest {
+
+    /**
+     * The name of the room to book.
+     * */
+    private final String roomName;
+
+    /**
+     * The name of the guest booking the room.
+     * */
+    private final String guestName;
+
+    /**
+     * The check-in date.
+     * */
+    private final int checkIn;
+
+    /**
+     * The check-out date.
+     * */
+    private final int checkOut;
+
+    /**
+     * The discount code to apply, or an empty string for none.
+     * */
+    private final String discountCode;
+
+    /**
+     * Initializes a new BookingRequest.
+     * @param roomName The name of the room to book.
+     * @param guestName The name of the guest booking the room.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param discountCode The discount code to apply, or null for none.
+     */
+    public BookingRequest(String roomName, String guestName, int checkIn, int checkOut, String discountCode) {
+        this.roomName = roomName;
+        this.guestName = guestName;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.discountCode = discountCode == null ? "" : discountCode;
+    }
+
+    /**
+     * Gets the name of the room to book.
+     * @return The room name.
+     */
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * Gets the name of the guest booking the room.
+     * @return The guest name.
+     */
+    public String getGuestName() {
+        return guestName;
+    }
+
+    /**
+     * Gets the check-in date.
+     * @return The check-in date.
+     */
+    public int getCheckIn() {
+        return checkIn;
+    }
+
+    /**
+     * Gets the check-out date.
+     * @return The check-out date.
+     */
+    public int getCheckOut() {
+        return checkOut;
+    }
+
+    /**
+     * Gets the discount code to apply.
+     * @return The discount code, or an empty string for none.
+     */
+    public String getDiscountCode() {
+        return discountCode;
+    }
+}
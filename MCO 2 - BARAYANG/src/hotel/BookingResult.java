@@ -0,0 +1,94 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * This class represents the outcome of a booking attempt. Failed attempts share one
+ * preallocated result per status, so rejecting a booking allocates nothing.
+ */
+public class BookingResult {
+
+    /**
+     * The shared result of each failed outcome, indexed by status ordinal.
+     * */
+    private static final BookingResult[] REJECTIONS = new BookingResult[BookingStatus.values().length];
+
+    static {
+        for (BookingStatus status : BookingStatus.values()) {
+            if (status != BookingStatus.BOOKED) {
+                REJECTIONS[status.ordinal()] = new BookingResult(status, null);
+            }
+        }
+    }
+
+    /**
+     * The outcome of the booking.
+     * */
+    private final BookingStatus status;
+
+    /**
+     * The reservation made, or null if the room was not booked.
+     * */
+    private final Reservation reservation;
+
+    /**
+     * Initializes a new BookingResult.
+     * @param status The outcome of the booking.
+     * @param reservation The reservation made, or null if the room was not booked.
+     */
+    public BookingResult(BookingStatus status, Reservation reservation) {
+        this.status = status;
+        this.reservation = reservation;
+    }
+
+    /**
+     * Gets the shared result of a failed booking.
+     * @param status The reason the booking failed.
+     * @return The preallocated result for that status.
+     * @throws IllegalArgumentException if the status is BOOKED.
+     */
+    public static BookingResult rejected(BookingStatus status) {
+        if (status == BookingStatus.BOOKED) {
+            throw new IllegalArgumentException("A booked result must carry its reservation.");
+        }
+        return REJECTIONS[status.ordinal()];
+    }
+
+    /**
+     * Gets the outcome of the booking.
+     * @return The booking status.
+     */
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the reservation made.
+     * @return The reservation, or null if the room was not booked.
+     */
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    /**
+     * Gets the message shown to the user for the outcome.
+     * @return The message, including the total price if the room was booked.
+     */
+    public String getMessage() {
+        if (reservation != null) {
+            return status.getMessage() + " Total price: " + reservation.getTotalPrice();
+        }
+        return status.getMessage();
+    }
+
+    /**
+     * Checks if the room was booked.
+     * @return True if the booking succeeded; false otherwise.
+     */
+    public boolean isBooked() {
+        return status == BookingStatus.BOOKED;
+    }
+}
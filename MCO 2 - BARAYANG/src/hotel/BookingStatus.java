@@ -0,0 +1,73 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * The possible outcomes of a booking attempt.
+ */
+public enum BookingStatus {
+
+    /**
+     * The room was booked.
+     * */
+    BOOKED("Booking successful."),
+
+    /**
+     * The check-in or check-out date is outside the booking horizon or not in order.
+     * */
+    INVALID_DATES("Invalid check-in or check-out dates."),
+
+    /**
+     * The hotel system has no hotel with the requested name.
+     * */
+    HOTEL_NOT_FOUND("Hotel not found."),
+
+    /**
+     * The hotel has no room with the requested name.
+     * */
+    ROOM_NOT_FOUND("Room not found."),
+
+    /**
+     * The room is already booked on one of the requested nights.
+     * */
+    ROOM_NOT_AVAILABLE("Room is not available for the selected dates."),
+
+    /**
+     * The discount code provided by the guest is not valid.
+     * */
+    INVALID_DISCOUNT_CODE("Invalid discount code."),
+
+    /**
+     * The guest name is missing or blank.
+     * */
+    INVALID_GUEST_NAME("Guest name cannot be empty."),
+
+    /**
+     * The booking was valid but not kept because another booking in the same all-or-nothing batch failed.
+     * */
+    ROLLED_BACK("Booking was rolled back because another booking in the batch failed.");
+
+    /**
+     * The message shown to the user for this outcome.
+     * */
+    private final String message;
+
+    /**
+     * Initializes a booking status.
+     * @param message The message shown to the user for this outcome.
+     */
+    BookingStatus(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Gets the message shown to the user for this outcome.
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
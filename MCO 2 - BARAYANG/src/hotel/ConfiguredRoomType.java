@@ -0,0 +1,50 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * Implementation of RoomType for room types registered from configuration.
+ */
+final class ConfiguredRoomType implements RoomType {
+
+    /**
+     * The name of the room type.
+     * */
+    private final String typeName;
+
+    /**
+     * The price multiplier of the room type.
+     * */
+    private final double priceMultiplier;
+
+    /**
+     * Initializes a new ConfiguredRoomType object.
+     * @param typeName The name of the room type.
+     * @param priceMultiplier The price multiplier of the room type.
+     */
+    ConfiguredRoomType(String typeName, double priceMultiplier) {
+        this.typeName = typeName;
+        this.priceMultiplier = priceMultiplier;
+    }
+
+    /**
+     * Gets the name of the room type.
+     * @return The name of the room type.
+     */
+    @Override
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Gets the price multiplier for the room type.
+     * @return The price multiplier.
+     */
+    @Override
+    public double getPriceMultiplier() {
+        return priceMultiplier;
+    }
+}
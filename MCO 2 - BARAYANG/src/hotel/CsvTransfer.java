@@ -0,0 +1,803 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * This class imports and exports hotels, rooms and reservations as CSV text, one record per
+ * row, with the kind of record in the first field:
+ * <pre>
+ * hotel,Name,BookingHorizon,BasePrice
+ * room,Hotel,Room,Type
+ * reservation,Hotel,Room,Guest,CheckIn,CheckOut,TotalPrice,DiscountCode
+ * </pre>
+ * Fields holding a comma, quote or line break are quoted, with quotes doubled. Blank rows and
+ * rows starting with # are skipped. A hotel row creates the hotel if it does not exist, and its
+ * horizon and base price are optional; rooms and reservations name a hotel created earlier.
+ * <p>
+ * Both directions stream: the exporter walks the hotels' live indexes through a buffered
+ * channel writer, and the importer decodes the file a block at a time from a file channel.
+ * Imported rooms and reservations are gathered into blocks and inserted a block at a time, so
+ * the hotel's lock, lock stripes and journal are taken once per block instead of once per row.
+ * Reservations keep the price and discount code they were exported with but get new booking
+ * numbers. A row that cannot be imported is skipped and reported with its line number.
+ */
+public final class CsvTransfer {
+
+    /**
+     * The size of the read and write buffers.
+     * */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The number of rooms or reservations inserted at a time.
+     * */
+    private static final int BLOCK_SIZE = 4096;
+
+    /**
+     * The number of problems an import report keeps the details of.
+     * */
+    public static final int MAX_REPORTED_PROBLEMS = 100;
+
+    private CsvTransfer() {
+    }
+
+    /**
+     * Exports hotels with their rooms and reservations. The file is written next to its final
+     * place and moved there when complete. Changes made during the export may or may not be in it.
+     * @param file The file to write, replaced if it exists.
+     * @param hotels The hotels to export.
+     * @param progress Told how many rooms and reservations have been written, and checked for cancellation.
+     * @return The number of rows written.
+     * @throws IOException if the file cannot be written.
+     * @throws CancellationException if the progress listener cancelled the export; the file is left unchanged.
+     */
+    public static long export(Path file, List<Hotel> hotels, ReportProgress progress) throws IOException {
+        long total = 0;
+        for (Hotel hotel : hotels) {
+            total += hotel.getTotalRooms() + hotel.getReservationCount();
+        }
+        int reportedTotal = (int) Math.min(total, Integer.MAX_VALUE);
+
+        Path parent = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        long rows = 0;
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+                out.write("# hotel,Name,BookingHorizon,BasePrice\n");
+                out.write("# room,Hotel,Room,Type\n");
+                out.write("# reservation,Hotel,Room,Guest,CheckIn,CheckOut,TotalPrice,DiscountCode\n");
+                for (Hotel hotel : hotels) {
+                    String hotelName = hotel.getName();
+                    out.write("hotel,");
+                    writeField(out, hotelName);
+                    out.write("," + hotel.getBookingHorizon() + "," + hotel.getBasePrice() + "\n");
+                    rows++;
+                    for (Room room : hotel.getRooms()) {
+                        out.write("room,");
+                        writeField(out, hotelName);
+                        out.write(',');
+                        writeField(out, room.getName());
+                        out.write(',');
+                        writeField(out, room.getType().getTypeName());
+                        out.write('\n');
+                        advance(progress, ++rows, reportedTotal);
+                    }
+                    for (Reservation reservation : hotel.reservationsInOrder()) {
+                        out.write("reservation,");
+                        writeField(out, hotelName);
+                        out.write(',');
+                        writeField(out, reservation.getRoom().getName());
+                        out.write(',');
+                        writeField(out, reservation.getGuestName());
+                        out.write("," + reservation.getCheckInDate() + "," + reservation.getCheckOutDate()
+                                + "," + reservation.getTotalPrice() + ",");
+                        writeField(out, reservation.getDiscountCode());
+                        out.write('\n');
+                        advance(progress, ++rows, reportedTotal);
+                    }
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return rows;
+    }
+
+    /**
+     * Imports the hotels, rooms and reservations in a file into a hotel system. Rows are
+     * imported as they are read; rows imported before a cancellation or read error stay imported.
+     * @param file The file to read.
+     * @param hotelSystem The hotel system to import into.
+     * @param progress Told how many kilobytes of the file have been read, and checked for cancellation.
+     * @return What was imported and which rows were not.
+     * @throws IOException if the file cannot be read.
+     * @throws CancellationException if the progress listener cancelled the import.
+     */
+    public static ImportReport importFrom(Path file, HotelSystem hotelSystem, ReportProgress progress) throws IOException {
+        try (RowReader reader = new RowReader(FileChannel.open(file, StandardOpenOption.READ))) {
+            Importer importer = new Importer(hotelSystem);
+            List<String> fields = new ArrayList<>();
+            int totalKilobytes = (int) Math.min(reader.size() >> 10, Integer.MAX_VALUE);
+            long rows = 0;
+            while (reader.readRow(fields)) {
+                importer.importRow(reader.getRowLine(), fields, reader.isRowUnterminated());
+                if (++rows % BLOCK_SIZE == 0) {
+                    if (progress.isCancelled()) {
+                        importer.flush();
+                        throw new CancellationException("Import cancelled.");
+                    }
+                    progress.update((int) Math.min(reader.position() >> 10, Integer.MAX_VALUE), totalKilobytes);
+                }
+            }
+            importer.flush();
+            progress.update(totalKilobytes, totalKilobytes);
+            return importer.report;
+        }
+    }
+
+    /**
+     * Writes a field, quoting it if it holds a comma, quote or line break.
+     * @param out The writer.
+     * @param field The field, or null for an empty field.
+     * @throws IOException if the writer fails.
+     */
+    private static void writeField(Writer out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < field.length() && !needsQuotes; i++) {
+            char c = field.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /**
+     * Tells the export's progress listener how far it has come every block of rows, and stops
+     * the export if it is no longer wanted.
+     * @param progress The progress listener.
+     * @param rows The number of rows written so far.
+     * @param total The number of rows the export will hold.
+     * @throws CancellationException if the listener cancelled the export.
+     */
+    private static void advance(ReportProgress progress, long rows, int total) {
+        if (rows % BLOCK_SIZE == 0) {
+            if (progress.isCancelled()) {
+                throw new CancellationException("Export cancelled.");
+            }
+            progress.update((int) Math.min(rows, total), total);
+        }
+    }
+
+    /**
+     * What an import added and which rows it skipped.
+     */
+    public static final class ImportReport {
+
+        /**
+         * The number of hotels created.
+         * */
+        private long hotels;
+
+        /**
+         * The number of rooms added.
+         * */
+        private long rooms;
+
+        /**
+         * The number of reservations booked.
+         * */
+        private long reservations;
+
+        /**
+         * The number of rows skipped.
+         * */
+        private long rejectedRows;
+
+        /**
+         * The first problems found, one line each.
+         * */
+        private final List<String> problems = new ArrayList<>();
+
+        /**
+         * Records a row that could not be imported.
+         * @param line The line the row starts on.
+         * @param message Why the row was skipped.
+         */
+        private void reject(long line, String message) {
+            rejectedRows++;
+            if (problems.size() < MAX_REPORTED_PROBLEMS) {
+                problems.add("Line " + line + ": " + message);
+            }
+        }
+
+        /**
+         * Gets the number of hotels created.
+         * @return The number of hotels.
+         */
+        public long getHotels() {
+            return hotels;
+        }
+
+        /**
+         * Gets the number of rooms added.
+         * @return The number of rooms.
+         */
+        public long getRooms() {
+            return rooms;
+        }
+
+        /**
+         * Gets the number of reservations booked.
+         * @return The number of reservations.
+         */
+        public long getReservations() {
+            return reservations;
+        }
+
+        /**
+         * Gets the number of rows that could not be imported.
+         * @return The number of rejected rows.
+         */
+        public long getRejectedRows() {
+            return rejectedRows;
+        }
+
+        /**
+         * Gets the first {@value #MAX_REPORTED_PROBLEMS} problems found. Rows turned down by a
+         * hotel are found when their block is inserted, so lines may be slightly out of order.
+         * @return An unmodifiable list of problems, one line each.
+         */
+        public List<String> getProblems() {
+            return Collections.unmodifiableList(problems);
+        }
+
+        /**
+         * Summarizes the import.
+         * @return The counts, followed by the problems found.
+         */
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder();
+            summary.append("Hotels created: ").append(hotels).append("\n")
+                    .append("Rooms added: ").append(rooms).append("\n")
+                    .append("Reservations booked: ").append(reservations).append("\n")
+                    .append("Rows skipped: ").append(rejectedRows).append("\n");
+            for (String problem : problems) {
+                summary.append("  ").append(problem).append("\n");
+            }
+            if (rejectedRows > problems.size()) {
+                summary.append("  ... and ").append(rejectedRows - problems.size()).append(" more\n");
+            }
+            return summary.toString();
+        }
+    }
+
+    /**
+     * Checks the rows of an import and inserts them a block at a time. A block holds rows of
+     * one kind for one hotel, and is inserted when it is full or the next row does not belong to it.
+     */
+    private static final class Importer {
+
+        /**
+         * The hotel system imported into.
+         * */
+        private final HotelSystem hotelSystem;
+
+        /**
+         * What has been imported so far.
+         * */
+        private final ImportReport report = new ImportReport();
+
+        /**
+         * The name of the hotel of the previous row, as written in the file.
+         * */
+        private String lastHotelName;
+
+        /**
+         * The hotel of the previous row.
+         * */
+        private Hotel lastHotel;
+
+        /**
+         * The hotel the pending block belongs to, or null if no block is pending.
+         * */
+        private Hotel blockHotel;
+
+        /**
+         * The number of rows in the pending block.
+         * */
+        private int blockSize;
+
+        /**
+         * The line each row of the pending block starts on.
+         * */
+        private final long[] blockLines = new long[BLOCK_SIZE];
+
+        /**
+         * The names of the pending rooms.
+         * */
+        private final String[] roomNames = new String[BLOCK_SIZE];
+
+        /**
+         * The types of the pending rooms.
+         * */
+        private final RoomType[] roomTypes = new RoomType[BLOCK_SIZE];
+
+        /**
+         * The pending reservations; the block holds rooms while this is null.
+         * */
+        private Reservation[] reservations;
+
+        /**
+         * Initializes a new Importer.
+         * @param hotelSystem The hotel system to import into.
+         */
+        Importer(HotelSystem hotelSystem) {
+            this.hotelSystem = hotelSystem;
+        }
+
+        /**
+         * Checks a row and adds it to the pending block, or reports why it was skipped.
+         * @param line The line the row starts on.
+         * @param fields The fields of the row.
+         * @param unterminated Whether the row ended inside a quoted field.
+         */
+        void importRow(long line, List<String> fields, boolean unterminated) {
+            String kind = fields.get(0).trim();
+            if ((kind.isEmpty() && fields.size() == 1) || kind.startsWith("#")) {
+                return;
+            } else if (unterminated) {
+                report.reject(line, "a quoted field is not closed.");
+                return;
+            }
+            try {
+                switch (kind.toLowerCase()) {
+                    case "hotel":
+                        importHotel(fields);
+                        break;
+                    case "room":
+                        importRoom(line, fields);
+                        break;
+                    case "reservation":
+                        importReservation(line, fields);
+                        break;
+                    default:
+                        report.reject(line, "unknown row kind \"" + kind + "\".");
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                report.reject(line, e.getMessage());
+            }
+        }
+
+        /**
+         * Creates a hotel if it does not exist and applies its booking horizon and base price.
+         * @param fields The fields of the row.
+         * @throws IllegalArgumentException if the row is malformed or the hotel rejects a setting.
+         */
+        private void importHotel(List<String> fields) {
+            expectFields(fields, 2, 4);
+            String name = requireText(fields.get(1), "hotel name");
+            flush(); // The hotel's settings apply after the rows before them
+            Hotel hotel = hotelSystem.doesHotelExist(name);
+            if (hotel == null) {
+                if (hotelSystem.createHotel(name)) {
+                    report.hotels++;
+                }
+                hotel = hotelSystem.doesHotelExist(name);
+            }
+            lastHotelName = name;
+            lastHotel = hotel;
+            if (fields.size() > 2 && !fields.get(2).trim().isEmpty()) {
+                int horizon = parseInt(fields.get(2), "booking horizon");
+                if (horizon != hotel.getBookingHorizon()) {
+                    hotel.setBookingHorizon(horizon);
+                }
+            }
+            if (fields.size() > 3 && !fields.get(3).trim().isEmpty()) {
+                double basePrice = parseDouble(fields.get(3), "base price");
+                if (basePrice != hotel.getBasePrice() && !hotel.updateBasePrice(basePrice)) {
+                    throw new IllegalArgumentException("base price must be at least " + Hotel.MIN_BASE_PRICE + ".");
+                }
+            }
+        }
+
+        /**
+         * Adds a room row to the pending block.
+         * @param line The line the row starts on.
+         * @param fields The fields of the row.
+         * @throws IllegalArgumentException if the row is malformed or names an unknown hotel or type.
+         */
+        private void importRoom(long line, List<String> fields) {
+            expectFields(fields, 4, 4);
+            Hotel hotel = hotelOf(fields.get(1));
+            String roomName = requireText(fields.get(2), "room name");
+            RoomType type = RoomTypeRegistry.find(fields.get(3));
+            if (type == null) {
+                throw new IllegalArgumentException("unknown room type \"" + fields.get(3).trim() + "\".");
+            }
+            if (blockHotel != hotel || reservations != null) {
+                flush();
+                blockHotel = hotel;
+            }
+            blockLines[blockSize] = line;
+            roomNames[blockSize] = roomName;
+            roomTypes[blockSize] = type;
+            if (++blockSize == BLOCK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Adds a reservation row to the pending block.
+         * @param line The line the row starts on.
+         * @param fields The fields of the row.
+         * @throws IllegalArgumentException if the row is malformed or names an unknown hotel or room.
+         */
+        private void importReservation(long line, List<String> fields) {
+            expectFields(fields, 7, 8);
+            Hotel hotel = hotelOf(fields.get(1));
+            if (blockHotel != hotel || reservations == null) {
+                flush(); // Rooms added earlier in the file must exist before they are looked up
+                blockHotel = hotel;
+                reservations = new Reservation[BLOCK_SIZE];
+            }
+            String roomName = fields.get(2);
+            Room room = hotel.doesRoomExist(roomName.trim());
+            if (room == null) {
+                throw new IllegalArgumentException("room \"" + roomName.trim() + "\" not found.");
+            }
+            String guestName = requireText(fields.get(3), "guest name");
+            int checkIn = parseInt(fields.get(4), "check-in date");
+            int checkOut = parseInt(fields.get(5), "check-out date");
+            double totalPrice = parseDouble(fields.get(6), "total price");
+            if (!(totalPrice >= 0) || Double.isInfinite(totalPrice)) {
+                throw new IllegalArgumentException("invalid total price.");
+            }
+            Reservation reservation = new Reservation(guestName, checkIn, checkOut, room, totalPrice);
+            reservation.setDiscountCode(fields.size() > 7 ? fields.get(7).trim() : "");
+            blockLines[blockSize] = line;
+            reservations[blockSize] = reservation;
+            if (++blockSize == BLOCK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Inserts the pending block into its hotel and reports the rows the hotel turned down.
+         */
+        void flush() {
+            if (blockSize == 0) {
+                blockHotel = null;
+                reservations = null;
+                return;
+            }
+            if (reservations == null) {
+                String[] rejected = blockHotel.importRooms(roomNames, roomTypes, blockSize);
+                for (int i = 0; i < blockSize; i++) {
+                    if (rejected[i] == null) {
+                        report.rooms++;
+                    } else {
+                        report.reject(blockLines[i], rejected[i]);
+                    }
+                }
+            } else {
+                BookingStatus[] statuses = blockHotel.importReservations(
+                        blockSize == BLOCK_SIZE ? reservations : Arrays.copyOf(reservations, blockSize));
+                for (int i = 0; i < blockSize; i++) {
+                    if (statuses[i] == BookingStatus.BOOKED) {
+                        report.reservations++;
+                    } else {
+                        report.reject(blockLines[i], statuses[i].getMessage());
+                    }
+                }
+            }
+            Arrays.fill(roomNames, 0, blockSize, null);
+            blockSize = 0;
+            blockHotel = null;
+            reservations = null;
+        }
+
+        /**
+         * Finds the hotel a row belongs to, remembering the last one so runs of rows for the
+         * same hotel skip the lookup.
+         * @param name The name of the hotel as written in the row.
+         * @return The hotel.
+         * @throws IllegalArgumentException if there is no such hotel.
+         */
+        private Hotel hotelOf(String name) {
+            if (!name.equals(lastHotelName)) {
+                Hotel hotel = hotelSystem.doesHotelExist(name.trim());
+                if (hotel == null) {
+                    throw new IllegalArgumentException("hotel \"" + name.trim() + "\" not found.");
+                }
+                lastHotelName = name;
+                lastHotel = hotel;
+            }
+            return lastHotel;
+        }
+
+        /**
+         * Checks the number of fields in a row.
+         * @param fields The fields of the row.
+         * @param min The fewest fields allowed.
+         * @param max The most fields allowed.
+         * @throws IllegalArgumentException if the row has too few or too many fields.
+         */
+        private static void expectFields(List<String> fields, int min, int max) {
+            if (fields.size() < min || fields.size() > max) {
+                throw new IllegalArgumentException("expected " + (min == max ? String.valueOf(min) : min + " to " + max)
+                        + " fields but found " + fields.size() + ".");
+            }
+        }
+
+        /**
+         * Trims a field that must not be blank.
+         * @param field The field.
+         * @param what What the field holds, for the message.
+         * @return The trimmed field.
+         * @throws IllegalArgumentException if the field is blank.
+         */
+        private static String requireText(String field, String what) {
+            String text = field.trim();
+            if (text.isEmpty()) {
+                throw new IllegalArgumentException("missing " + what + ".");
+            }
+            return text;
+        }
+
+        /**
+         * Parses a whole number field.
+         * @param field The field.
+         * @param what What the field holds, for the message.
+         * @return The number.
+         * @throws IllegalArgumentException if the field is not a whole number.
+         */
+        private static int parseInt(String field, String what) {
+            try {
+                return Integer.parseInt(field.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid " + what + " \"" + field.trim() + "\".");
+            }
+        }
+
+        /**
+         * Parses a decimal number field.
+         * @param field The field.
+         * @param what What the field holds, for the message.
+         * @return The number.
+         * @throws IllegalArgumentException if the field is not a number.
+         */
+        private static double parseDouble(String field, String what) {
+            try {
+                return Double.parseDouble(field.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid " + what + " \"" + field.trim() + "\".");
+            }
+        }
+    }
+
+    /**
+     * Reads CSV rows from a file channel, decoding a block of UTF-8 at a time into a reused
+     * character buffer. Bytes that are not valid UTF-8 are replaced rather than failing the
+     * import, so the rows holding them are reported or imported like any other.
+     */
+    private static final class RowReader implements Closeable {
+
+        /**
+         * The file read.
+         * */
+        private final FileChannel channel;
+
+        /**
+         * The bytes read from the file and not yet decoded.
+         * */
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /**
+         * The decoded characters not yet parsed.
+         * */
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+        /**
+         * Turns bytes into characters.
+         * */
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /**
+         * The field being parsed.
+         * */
+        private final StringBuilder field = new StringBuilder();
+
+        /**
+         * Whether the whole file has been read and decoded.
+         * */
+        private boolean drained;
+
+        /**
+         * The current line number.
+         * */
+        private long line;
+
+        /**
+         * The line the last row read starts on.
+         * */
+        private long rowLine;
+
+        /**
+         * Whether the last row read ended inside a quoted field.
+         * */
+        private boolean rowUnterminated;
+
+        /**
+         * Initializes a new RowReader.
+         * @param channel The file to read.
+         */
+        RowReader(FileChannel channel) {
+            this.channel = channel;
+            chars.flip();
+        }
+
+        /**
+         * Gets the size of the file.
+         * @return The size in bytes.
+         * @throws IOException if the size cannot be read.
+         */
+        long size() throws IOException {
+            return channel.size();
+        }
+
+        /**
+         * Gets how far into the file the reader has read.
+         * @return The position in bytes.
+         * @throws IOException if the position cannot be read.
+         */
+        long position() throws IOException {
+            return channel.position();
+        }
+
+        /**
+         * Gets the line the last row read starts on.
+         * @return The line number, counting from 1.
+         */
+        long getRowLine() {
+            return rowLine;
+        }
+
+        /**
+         * Checks if the last row read ended inside a quoted field, at the end of the file.
+         * @return True if a quoted field was not closed; false otherwise.
+         */
+        boolean isRowUnterminated() {
+            return rowUnterminated;
+        }
+
+        /**
+         * Reads the next row.
+         * @param fields Cleared and filled with the fields of the row.
+         * @return True if a row was read; false at the end of the file.
+         * @throws IOException if the file cannot be read.
+         */
+        boolean readRow(List<String> fields) throws IOException {
+            fields.clear();
+            int c = next();
+            if (c < 0) {
+                return false;
+            }
+            rowLine = ++line;
+            rowUnterminated = false;
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (c < 0) {
+                    rowUnterminated = quoted;
+                    break;
+                } else if (quoted) {
+                    if (c == '"') {
+                        c = next();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = next();
+            }
+            fields.add(field.toString());
+            return true;
+        }
+
+        /**
+         * Reads the next character.
+         * @return The character, or -1 at the end of the file.
+         * @throws IOException if the file cannot be read.
+         */
+        private int next() throws IOException {
+            if (!chars.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return chars.get();
+        }
+
+        /**
+         * Decodes the next block of the file into the character buffer.
+         * @return True if any characters were decoded; false at the end of the file.
+         * @throws IOException if the file cannot be read.
+         */
+        private boolean fill() throws IOException {
+            chars.clear();
+            while (chars.position() == 0 && !drained) {
+                boolean endOfInput = channel.read(bytes) < 0;
+                bytes.flip();
+                decoder.decode(bytes, chars, endOfInput);
+                bytes.compact();
+                if (endOfInput) {
+                    decoder.flush(chars);
+                    drained = true;
+                }
+            }
+            chars.flip();
+            return chars.hasRemaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class prices stays with a hotel's discount codes. The active rules are compiled into
+ * a table keyed by code and an array in order of precedence, and date conditions such as
+ * "a night on the 15th or 30th" are turned into running counts over the hotel's calendar.
+ * Pricing a stay is then one hash lookup and a walk over the rules, with no allocation.
+ * <p>
+ * Rules are applied in order of precedence. A rule applies when it was asked for or is
+ * automatic, and the stay qualifies. A rule that does not stack is only applied when no
+ * other discount has been applied yet, and nothing is applied after it. Adding or retiring
+ * a code builds a new table and swaps it in, so bookings in progress are never disturbed.
+ */
+public class DiscountEngine {
+
+    /**
+     * The default discount for staying five nights or more: the first night is free.
+     * */
+    public static final DiscountRule STAY4_GET1 = new DiscountRule("STAY4_GET1", 10, true, true, 0, 1, 5);
+
+    /**
+     * The default discount for hotel staff: 10% off.
+     * */
+    public static final DiscountRule I_WORK_HERE = new DiscountRule("I_WORK_HERE", 20, true, false, 0.10, 0, 1);
+
+    /**
+     * The default discount for stays over a payday, the 15th or 30th: 7% off.
+     * */
+    public static final DiscountRule PAYDAY = new DiscountRule("PAYDAY", 30, true, true, 0.07, 0, 1, 15, 30);
+
+    /**
+     * The epoch day of date 1 of the hotel's calendar.
+     * */
+    private final int firstDay;
+
+    /**
+     * The number of dates the hotel's calendar covers.
+     * */
+    private final int nights;
+
+    /**
+     * The compiled rules currently in force.
+     * */
+    private volatile Table table;
+
+    /**
+     * Initializes a new DiscountEngine with the default discount codes.
+     * @param firstDay The epoch day of date 1 of the hotel's calendar.
+     * @param nights The number of dates the hotel's calendar covers.
+     */
+    public DiscountEngine(int firstDay, int nights) {
+        this.firstDay = firstDay;
+        this.nights = nights;
+        this.table = new Table(new Compiled[0]);
+        for (DiscountRule rule : new DiscountRule[] {STAY4_GET1, I_WORK_HERE, PAYDAY}) {
+            addRule(rule);
+        }
+    }
+
+    /**
+     * Adds a discount code.
+     * @param rule The rule of the new code.
+     * @throws IllegalArgumentException if the code is already active.
+     */
+    public synchronized void addRule(DiscountRule rule) {
+        Table current = table;
+        if (current.byCode.containsKey(normalizeCode(rule.getCode()))) {
+            throw new IllegalArgumentException("Discount code " + rule.getCode() + " already exists.");
+        }
+        Compiled[] rules = Arrays.copyOf(current.ordered, current.ordered.length + 1);
+        rules[current.ordered.length] = compile(rule);
+        table = new Table(rules);
+    }
+
+    /**
+     * Retires a discount code so that it no longer applies to new bookings.
+     * @param code The code to retire.
+     * @return True if the code was active; false otherwise.
+     */
+    public synchronized boolean retire(String code) {
+        Table current = table;
+        String key = normalizeCode(code);
+        Compiled retired = key == null ? null : current.byCode.get(key);
+        if (retired == null) {
+            return false;
+        }
+        Compiled[] rules = new Compiled[current.ordered.length - 1];
+        int out = 0;
+        for (Compiled rule : current.ordered) {
+            if (rule != retired) {
+                rules[out++] = rule;
+            }
+        }
+        table = new Table(rules);
+        return true;
+    }
+
+    /**
+     * Puts a discount code in the form the codes are kept in, so that a code matches however
+     * much space the guest typed around it.
+     * @param code The code as given.
+     * @return The code without surrounding spaces, or null if no code was given.
+     */
+    private static String normalizeCode(String code) {
+        return code == null ? null : code.trim();
+    }
+
+    /**
+     * Checks if a discount code is active.
+     * @param code The code to check.
+     * @return True if the code is active; false otherwise.
+     */
+    public boolean isActive(String code) {
+        String key = normalizeCode(code);
+        return key != null && table.byCode.containsKey(key);
+    }
+
+    /**
+     * Gets the active discount rules.
+     * @return The rules in the order they are applied.
+     */
+    public List<DiscountRule> getRules() {
+        Compiled[] rules = table.ordered;
+        ArrayList<DiscountRule> list = new ArrayList<>(rules.length);
+        for (Compiled rule : rules) {
+            list.add(rule.rule);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Prices a stay, applying every automatic discount the stay qualifies for and the code the
+     * guest asked for.
+     * @param code The code the guest asked for, or an empty string for none.
+     * @param pricePerNight The price per night of the room.
+     * @param rates The nightly price multipliers of the hotel.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @return The total price of the stay, or NaN if the code is not active.
+     */
+    public double price(String code, double pricePerNight, RateCalendar rates, int checkIn, int checkOut) {
+        Table current = table;
+        Compiled requested = null;
+        String key = normalizeCode(code);
+        if (key != null && !key.isEmpty()) {
+            requested = current.byCode.get(key);
+            if (requested == null) {
+                return Double.NaN;
+            }
+        }
+
+        double totalPrice = pricePerNight * rates.weightOf(checkIn, checkOut);
+        boolean discounted = false;
+        for (Compiled rule : current.ordered) {
+            if ((rule.automatic || rule == requested) && rule.qualifies(checkIn, checkOut)) {
+                if (!rule.stackable && discounted) {
+                    continue;
+                }
+                if (rule.freeNights > 0) {
+                    totalPrice -= pricePerNight * rates.weightOf(checkIn, checkIn + rule.freeNights);
+                }
+                totalPrice *= 1 - rule.percentOff;
+                discounted = true;
+                if (!rule.stackable) {
+                    break;
+                }
+            }
+        }
+        return totalPrice;
+    }
+
+    /**
+     * Compiles a rule for the hotel's calendar.
+     * @param rule The rule to compile.
+     * @return The compiled rule.
+     */
+    private Compiled compile(DiscountRule rule) {
+        int[] qualifyingNights = null;
+        int[] days = rule.getQualifyingDays();
+        if (days.length > 0) {
+            boolean[] isQualifyingDay = new boolean[32];
+            for (int day : days) {
+                isQualifyingDay[day] = true;
+            }
+            qualifyingNights = new int[nights + 1];
+            for (int i = 0; i < nights; i++) {
+                int dayOfMonth = LocalDate.ofEpochDay(firstDay + i).getDayOfMonth();
+                qualifyingNights[i + 1] = qualifyingNights[i] + (isQualifyingDay[dayOfMonth] ? 1 : 0);
+            }
+        }
+        return new Compiled(rule, qualifyingNights);
+    }
+
+    /**
+     * A discount rule compiled for one hotel's calendar.
+     */
+    private static final class Compiled {
+
+        /**
+         * The rule this was compiled from.
+         * */
+        final DiscountRule rule;
+
+        /**
+         * Whether the discount can be combined with other discounts.
+         * */
+        final boolean stackable;
+
+        /**
+         * Whether the discount is applied without being asked for.
+         * */
+        final boolean automatic;
+
+        /**
+         * The fraction taken off the price.
+         * */
+        final double percentOff;
+
+        /**
+         * The number of free nights at the start of the stay.
+         * */
+        final int freeNights;
+
+        /**
+         * The shortest stay that qualifies.
+         * */
+        final int minNights;
+
+        /**
+         * The running count of qualifying nights: entry i counts dates 1 to i. Null if any stay qualifies.
+         * */
+        final int[] qualifyingNights;
+
+        /**
+         * Initializes a new compiled rule.
+         * @param rule The rule this was compiled from.
+         * @param qualifyingNights The running count of qualifying nights, or null if any stay qualifies.
+         */
+        Compiled(DiscountRule rule, int[] qualifyingNights) {
+            this.rule = rule;
+            this.stackable = rule.isStackable();
+            this.automatic = rule.isAutomatic();
+            this.percentOff = rule.getPercentOff();
+            this.freeNights = rule.getFreeNights();
+            this.minNights = rule.getMinNights();
+            this.qualifyingNights = qualifyingNights;
+        }
+
+        /**
+         * Checks if a stay qualifies for the discount.
+         * @param checkIn The check-in date.
+         * @param checkOut The check-out date.
+         * @return True if the stay qualifies; false otherwise.
+         */
+        boolean qualifies(int checkIn, int checkOut) {
+            return checkOut - checkIn >= minNights
+                    && (qualifyingNights == null || qualifyingNights[checkOut - 1] > qualifyingNights[checkIn - 1]);
+        }
+    }
+
+    /**
+     * An immutable set of compiled rules.
+     */
+    private static final class Table {
+
+        /**
+         * The compiled rules in order of precedence.
+         * */
+        final Compiled[] ordered;
+
+        /**
+         * The compiled rules keyed by code.
+         * */
+        final HashMap<String, Compiled> byCode;
+
+        /**
+         * Initializes a new table, sorting the rules by precedence.
+         * @param rules The compiled rules.
+         */
+        Table(Compiled[] rules) {
+            Arrays.sort(rules, Comparator.comparingInt(compiled -> compiled.rule.getPrecedence()));
+            this.ordered = rules;
+            this.byCode = new HashMap<>();
+            for (Compiled rule : rules) {
+                byCode.put(rule.rule.getCode(), rule);
+            }
+        }
+    }
+}
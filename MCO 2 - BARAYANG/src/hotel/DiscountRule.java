@@ -0,0 +1,179 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.util.Arrays;
+
+/**
+ * This class describes one discount code: what it takes off, which stays qualify,
+ * whether it is applied without being asked for, and how it combines with other codes.
+ * Rules are immutable; a DiscountEngine compiles them for a hotel's calendar.
+ */
+public final class DiscountRule {
+
+    /**
+     * The code guests enter to ask for the discount.
+     * */
+    private final String code;
+
+    /**
+     * The position of the rule in the order discounts are applied; lower goes first.
+     * */
+    private final int precedence;
+
+    /**
+     * Whether the discount can be combined with other discounts.
+     * */
+    private final boolean stackable;
+
+    /**
+     * Whether the discount is applied to every qualifying stay without being asked for.
+     * */
+    private final boolean automatic;
+
+    /**
+     * The fraction taken off the price, from 0 up to but not including 1.
+     * */
+    private final double percentOff;
+
+    /**
+     * The number of nights at the start of the stay that are free.
+     * */
+    private final int freeNights;
+
+    /**
+     * The shortest stay, in nights, that qualifies.
+     * */
+    private final int minNights;
+
+    /**
+     * The days of the month at least one night of the stay must fall on, or empty if any stay qualifies.
+     * */
+    private final int[] qualifyingDays;
+
+    /**
+     * Initializes a new DiscountRule.
+     * @param code The code guests enter to ask for the discount.
+     * @param precedence The position of the rule in the order discounts are applied; lower goes first.
+     * @param stackable Whether the discount can be combined with other discounts.
+     * @param automatic Whether the discount is applied to every qualifying stay without being asked for.
+     * @param percentOff The fraction taken off the price, e.g. 0.1 for 10%.
+     * @param freeNights The number of nights at the start of the stay that are free.
+     * @param minNights The shortest stay, in nights, that qualifies.
+     * @param qualifyingDays The days of the month at least one night of the stay must fall on; none for any stay.
+     * @throws IllegalArgumentException if the code is empty or a value is out of range.
+     */
+    public DiscountRule(String code, int precedence, boolean stackable, boolean automatic,
+                        double percentOff, int freeNights, int minNights, int... qualifyingDays) {
+        if (code == null || code.trim().isEmpty()) {
+            throw new IllegalArgumentException("Discount code cannot be empty.");
+        } else if (!(percentOff >= 0 && percentOff < 1)) {
+            throw new IllegalArgumentException("Discount must be at least 0% and less than 100%.");
+        } else if (freeNights < 0 || minNights < 1 || freeNights >= minNights) {
+            throw new IllegalArgumentException("Free nights must leave at least one paid night.");
+        }
+        for (int day : qualifyingDays) {
+            if (day < 1 || day > 31) {
+                throw new IllegalArgumentException("Qualifying days must be days of the month.");
+            }
+        }
+        this.code = code.trim();
+        this.precedence = precedence;
+        this.stackable = stackable;
+        this.automatic = automatic;
+        this.percentOff = percentOff;
+        this.freeNights = freeNights;
+        this.minNights = minNights;
+        this.qualifyingDays = qualifyingDays.clone();
+    }
+
+    /**
+     * Gets the code guests enter to ask for the discount.
+     * @return The discount code.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the position of the rule in the order discounts are applied.
+     * @return The precedence; lower goes first.
+     */
+    public int getPrecedence() {
+        return precedence;
+    }
+
+    /**
+     * Checks if the discount can be combined with other discounts.
+     * @return True if the discount stacks; false if it is applied alone.
+     */
+    public boolean isStackable() {
+        return stackable;
+    }
+
+    /**
+     * Checks if the discount is applied to every qualifying stay without being asked for.
+     * @return True if the discount is automatic; false otherwise.
+     */
+    public boolean isAutomatic() {
+        return automatic;
+    }
+
+    /**
+     * Gets the fraction taken off the price.
+     * @return The discount as a fraction, e.g. 0.1 for 10%.
+     */
+    public double getPercentOff() {
+        return percentOff;
+    }
+
+    /**
+     * Gets the number of nights at the start of the stay that are free.
+     * @return The number of free nights.
+     */
+    public int getFreeNights() {
+        return freeNights;
+    }
+
+    /**
+     * Gets the shortest stay that qualifies.
+     * @return The minimum number of nights.
+     */
+    public int getMinNights() {
+        return minNights;
+    }
+
+    /**
+     * Gets the days of the month at least one night of the stay must fall on.
+     * @return A copy of the qualifying days, or an empty array if any stay qualifies.
+     */
+    public int[] getQualifyingDays() {
+        return qualifyingDays.clone();
+    }
+
+    /**
+     * Describes the rule for listing in menus.
+     * @return A one-line description of the rule.
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(code).append(": ");
+        if (freeNights > 0) {
+            description.append(freeNights).append(" free night(s)");
+        }
+        if (percentOff > 0) {
+            description.append(freeNights > 0 ? ", " : "").append(Math.round(percentOff * 10000) / 100.0).append("% off");
+        }
+        if (minNights > 1) {
+            description.append(", stays of ").append(minNights).append("+ nights");
+        }
+        if (qualifyingDays.length > 0) {
+            description.append(", stays over day(s) ").append(Arrays.toString(qualifyingDays));
+        }
+        description.append(automatic ? ", automatic" : "").append(stackable ? "" : ", not combinable");
+        return description.toString();
+    }
+}
@@ -0,0 +1,1907 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class represents a hotel with rooms and reservations.
+ * Bookings and cancellations are safe to run from many threads at once: a room's
+ * nights are claimed under that room's lock stripe, and the hotel-wide indexes and
+ * totals use concurrent collections and adders, so bookings for different rooms
+ * never wait on each other. Adding or removing rooms, renaming the hotel and
+ * changing the base price are synchronized on the hotel.
+ */
+public class Hotel {
+
+    /**
+     * The number of lock stripes guarding room calendars. Must be a power of two.
+     * */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The number of earnings units in one unit of currency. Earnings are summed as whole
+     * numbers of 1/10 000 of a unit of currency, so that booking and cancelling leave no
+     * rounding error behind.
+     * */
+    private static final long EARNINGS_UNITS = 10_000;
+
+    /**
+     * The number of nights that can be booked in a new hotel, starting from date 1.
+     * */
+    public static final int DEFAULT_BOOKING_HORIZON = 31;
+
+    /**
+     * The largest booking horizon a hotel can be configured with, about 18 months.
+     * */
+    public static final int MAX_BOOKING_HORIZON = 549;
+
+    /**
+     * The identifier given to the hotel by the hotel system, or 0 if it is not managed by one.
+     * */
+    private final long id;
+
+    /**
+     * The name of the hotel.
+     * */
+    private String name;
+
+    /**
+     * The observer told about every change to the hotel.
+     * */
+    private volatile HotelEventListener listener;
+
+    /**
+     * The observers told after the booked nights or rooms of the hotel change.
+     * */
+    private CopyOnWriteArrayList<AvailabilityListener> availabilityListeners;
+
+    /**
+     * The value of the room limit that lets a hotel grow without bound.
+     * */
+    public static final int NO_ROOM_LIMIT = 0;
+
+    /**
+     * The columns holding the rooms of the hotel, in insertion order.
+     * */
+    private RoomStore roomStore;
+
+    /**
+     * The largest number of rooms the hotel may hold, or NO_ROOM_LIMIT.
+     * */
+    private volatile int maxRooms;
+
+    /**
+     * The rooms of the hotel indexed by their normalized name.
+     * */
+    private ConcurrentHashMap<String, Room> roomIndex;
+
+    /**
+     * The reservations in the hotel keyed by booking number, in booking order. Replaced only
+     * when a snapshot is restored into the hotel, before the hotel is published.
+     * */
+    private ConcurrentSkipListMap<Long, Reservation> reservations;
+
+    /**
+     * The reservations of each guest indexed by the guest's normalized name, earliest booked first.
+     * A guest's entry is appended to in constant time however many bookings the guest holds.
+     * Replaced only when a snapshot is restored into the hotel, before the hotel is published.
+     * */
+    private ConcurrentHashMap<String, GuestReservations> guestIndex;
+
+    /**
+     * The source of booking numbers for new reservations.
+     * */
+    private AtomicLong lastBookingNumber;
+
+    /**
+     * The number of reservations in the hotel.
+     * */
+    private LongAdder reservationCount;
+
+    /**
+     * The locks guarding room calendars and room reservation lists.
+     * */
+    private ReentrantLock[] roomLocks;
+
+    /**
+     * Whether the hotel has been removed from the hotel system. Set while holding every lock
+     * stripe, so no room can be claimed once it is set.
+     * */
+    private volatile boolean closed;
+
+    /**
+     * The base price of a new hotel.
+     * */
+    public static final double DEFAULT_BASE_PRICE = 1299.0;
+
+    /**
+     * The lowest base price a hotel can be given.
+     * */
+    public static final double MIN_BASE_PRICE = 100.0;
+
+
+    /**
+     * The epoch day of date 1 of the hotel's calendar.
+     * */
+    private int firstDay;
+
+    /**
+     * The number of dates, starting from date 1, that stays can fall within.
+     * */
+    private volatile int bookingHorizon;
+
+    /**
+     * The price multiplier of each night, sized for the largest booking horizon.
+     * */
+    private RateCalendar rates;
+
+    /**
+     * The discount codes accepted by the hotel.
+     * */
+    private DiscountEngine discounts;
+
+    /**
+     * The number of booked rooms for each night, sized for the largest booking horizon.
+     * */
+    private AtomicIntegerArray bookedRoomsPerNight;
+
+    /**
+     * The running total of the prices of all reservations, in earnings units.
+     * */
+    private LongAdder totalEarnings;
+
+    /**
+     * The running totals of the reservations of each room type, keyed by type name.
+     * */
+    private ConcurrentHashMap<String, TypeEarnings> earningsByRoomType;
+
+    /**
+     * Initializes a new Hotel object with a given name.
+     * @param name The name of the hotel.
+     */
+    public Hotel(String name) {
+        this(name, 0, (int) LocalDate.now().withDayOfMonth(1).toEpochDay(), Instant.now());
+    }
+
+    /**
+     * Initializes a new Hotel object managed by the hotel system.
+     * @param name The name of the hotel.
+     * @param id The identifier of the hotel.
+     * @param firstDay The epoch day of date 1 of the hotel's calendar.
+     * @param openedAt When the hotel's first base price took effect.
+     */
+    Hotel(String name, long id, int firstDay, Instant openedAt) {
+        this.id = id;
+        this.name = name;
+        this.listener = HotelEventListener.NONE;
+        this.availabilityListeners = new CopyOnWriteArrayList<>();
+        this.roomIndex = new ConcurrentHashMap<>();
+        this.reservations = new ConcurrentSkipListMap<>();
+        this.guestIndex = new ConcurrentHashMap<>();
+        this.lastBookingNumber = new AtomicLong();
+        this.reservationCount = new LongAdder();
+        this.roomLocks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+        this.firstDay = firstDay;
+        this.roomStore = new RoomStore(firstDay, new RateVersion(DEFAULT_BASE_PRICE, openedAt));
+        this.maxRooms = NO_ROOM_LIMIT;
+        this.bookingHorizon = DEFAULT_BOOKING_HORIZON;
+        this.rates = new RateCalendar(firstDay, MAX_BOOKING_HORIZON);
+        this.discounts = new DiscountEngine(firstDay, MAX_BOOKING_HORIZON);
+        this.bookedRoomsPerNight = new AtomicIntegerArray(MAX_BOOKING_HORIZON);
+        this.totalEarnings = new LongAdder();
+        this.earningsByRoomType = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the name of the hotel.
+     * @return The name of the hotel.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the identifier given to the hotel by the hotel system.
+     * @return The identifier, or 0 if the hotel is not managed by the hotel system.
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the observer told about every change to the hotel.
+     * @return The hotel's listener.
+     */
+    HotelEventListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the observer told about every change to the hotel. A hotel that has been removed
+     * keeps reporting to no one.
+     * @param listener The new listener.
+     */
+    synchronized void setListener(HotelEventListener listener) {
+        if (!closed) {
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Adds an observer told after the booked nights or rooms of the hotel change.
+     * @param availabilityListener The observer to add.
+     */
+    public void addAvailabilityListener(AvailabilityListener availabilityListener) {
+        availabilityListeners.add(availabilityListener);
+    }
+
+    /**
+     * Removes an observer added with addAvailabilityListener.
+     * @param availabilityListener The observer to remove.
+     */
+    public void removeAvailabilityListener(AvailabilityListener availabilityListener) {
+        availabilityListeners.remove(availabilityListener);
+    }
+
+    /**
+     * Tells the availability observers that some nights of a room were booked or released.
+     * @param room The room.
+     * @param checkIn The first night changed.
+     * @param checkOut The day after the last night changed.
+     */
+    private void fireNightsChanged(Room room, int checkIn, int checkOut) {
+        if (!availabilityListeners.isEmpty()) {
+            for (AvailabilityListener availabilityListener : availabilityListeners) {
+                availabilityListener.nightsChanged(this, room, checkIn, checkOut);
+            }
+        }
+    }
+
+    /**
+     * Tells the availability observers that the rooms or the booking horizon changed.
+     */
+    private void fireRoomsChanged() {
+        for (AvailabilityListener availabilityListener : availabilityListeners) {
+            availabilityListener.roomsChanged(this);
+        }
+    }
+
+    /**
+     * Sets the name of the hotel.
+     * @param name The new name of the hotel.
+     * @throws IllegalArgumentException if another hotel already uses the name.
+     * @throws IllegalStateException if the hotel has been removed.
+     */
+    public synchronized void setName(String name) {
+        if (closed) {
+            throw new IllegalStateException("Hotel " + this.name + " has been removed.");
+        }
+        HotelSystem.renameHotel(this, this.name, name);
+        this.name = name;
+    }
+
+    /**
+     * Gets the number of dates, starting from date 1, that stays can fall within.
+     * @return The booking horizon in nights.
+     */
+    public int getBookingHorizon() {
+        return bookingHorizon;
+    }
+
+    /**
+     * Sets how far ahead stays can be booked.
+     * @param nights The number of dates, starting from date 1, that stays can fall within.
+     * @throws IllegalArgumentException if the horizon is out of range or would cut off existing bookings.
+     */
+    public synchronized void setBookingHorizon(int nights) {
+        if (nights < 2 || nights > MAX_BOOKING_HORIZON) {
+            throw new IllegalArgumentException("Booking horizon must be between 2 and " + MAX_BOOKING_HORIZON + " nights.");
+        }
+        for (int i = nights - 1; i < bookingHorizon; i++) {
+            if (bookedRoomsPerNight.get(i) > 0) {
+                throw new IllegalArgumentException("Cannot shorten the booking horizon past existing bookings.");
+            }
+        }
+        listener.bookingHorizonChanged(this, nights);
+        this.bookingHorizon = nights;
+        fireRoomsChanged();
+    }
+
+    /**
+     * Gets the price multiplier of a night.
+     * @param date The date of the night, from 1 to the largest booking horizon.
+     * @return The multiplier applied to room rates that night.
+     * @throws IllegalArgumentException if the date is out of range.
+     */
+    public double getDateModifier(int date) {
+        if (date < 1 || date > MAX_BOOKING_HORIZON) {
+            throw new IllegalArgumentException("Date must be between 1 and " + MAX_BOOKING_HORIZON + ".");
+        }
+        return rates.getMultiplier(date);
+    }
+
+    /**
+     * Sets the price multiplier of every night in a range of dates. Existing reservations keep their price.
+     * @param fromDate The first date to change.
+     * @param toDate The last date to change.
+     * @param multiplier The multiplier applied to room rates on those nights, e.g. 1.2 for 120%.
+     * @throws IllegalArgumentException if the dates are out of range or the multiplier is too small.
+     */
+    public synchronized void setDateModifier(int fromDate, int toDate, double multiplier) {
+        if (fromDate < 1 || toDate > MAX_BOOKING_HORIZON || fromDate > toDate) {
+            throw new IllegalArgumentException("Dates must be between 1 and " + MAX_BOOKING_HORIZON + ", first date first.");
+        } else if (!(multiplier >= 0.0001) || Double.isInfinite(multiplier)) {
+            throw new IllegalArgumentException("Date modifier must be at least 0.0001.");
+        }
+        long start = HotelMetrics.now();
+        listener.dateModifierChanged(this, fromDate, toDate, multiplier);
+        rates.setMultiplier(fromDate, toDate, multiplier);
+        HotelMetrics.recordRepricing(start);
+    }
+
+    /**
+     * Gets the discount codes accepted by the hotel. Codes can be added and retired at any time.
+     * @return The hotel's discount engine.
+     */
+    public DiscountEngine getDiscountEngine() {
+        return discounts;
+    }
+
+    /**
+     * Gets the calendar day that date 1 of the hotel refers to.
+     * @return The date of date 1.
+     */
+    public LocalDate getCalendarStart() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    /**
+     * Converts a calendar day into the hotel's date numbering.
+     * @param date The calendar day.
+     * @return The hotel date number, where date 1 is the calendar start.
+     */
+    public int dateOf(LocalDate date) {
+        return (int) (date.toEpochDay() - firstDay) + 1;
+    }
+
+    /**
+     * Gets the total number of rooms in the hotel.
+     * @return The total number of rooms.
+     */
+    public int getTotalRooms() {
+        return roomStore.getRoomCount();
+    }
+
+    /**
+     * Gets the largest number of rooms the hotel may hold.
+     * @return The room limit, or NO_ROOM_LIMIT if the hotel may grow without bound.
+     */
+    public int getMaxRooms() {
+        return maxRooms;
+    }
+
+    /**
+     * Sets the largest number of rooms the hotel may hold.
+     * @param maxRooms The room limit, or NO_ROOM_LIMIT to let the hotel grow without bound.
+     * @throws IllegalArgumentException if the limit is negative or below the current number of rooms.
+     */
+    public synchronized void setMaxRooms(int maxRooms) {
+        if (maxRooms < 0) {
+            throw new IllegalArgumentException("Room limit cannot be negative.");
+        } else if (maxRooms != NO_ROOM_LIMIT && maxRooms < getTotalRooms()) {
+            throw new IllegalArgumentException("Hotel already has more than " + maxRooms + " rooms.");
+        }
+        this.maxRooms = maxRooms;
+    }
+
+    /**
+     * Gets the base price of the hotel rooms.
+     * @return The base price.
+     */
+    public double getBasePrice() {
+        return roomStore.getRate().getBasePrice();
+    }
+
+    /**
+     * Gets the base price version new bookings are priced with.
+     * @return The current rate version.
+     */
+    public RateVersion getCurrentRate() {
+        return roomStore.getRate();
+    }
+
+    /**
+     * Gets every base price version the hotel has had.
+     * @return The rate versions, oldest first.
+     */
+    public List<RateVersion> getRateHistory() {
+        ArrayList<RateVersion> history = new ArrayList<>();
+        for (RateVersion rate = roomStore.getRate(); rate != null; rate = rate.getPrevious()) {
+            history.add(rate);
+        }
+        Collections.reverse(history);
+        return Collections.unmodifiableList(history);
+    }
+
+    /**
+     * Adds a room to the hotel with a given name.
+     * @param roomName The name of the room to add.
+     * @param type The type of the room.
+     * @throws IllegalArgumentException if a room with the same name already exists or the type is not registered.
+     */
+    public synchronized void addRoom(String roomName, RoomType type) {
+        if (maxRooms != NO_ROOM_LIMIT && getTotalRooms() >= maxRooms) {
+            throw new IllegalArgumentException("Cannot add more than " + maxRooms + " rooms.");
+        } else if (doesRoomExist(roomName) != null) {
+            throw new IllegalArgumentException("Room with this name already exists.");
+        }
+
+        RoomTypeRegistry.ordinalOf(type); // Reject unknown types before telling the listener
+        listener.roomAdded(this, roomName, type);
+        Room room = roomStore.add(roomName, type);
+        roomIndex.put(normalizeName(roomName), room);
+        fireRoomsChanged();
+    }
+
+    /**
+     * Removes a room from the hotel by its name and ensures that no active reservations exist.
+     * @param roomName The name of the room to remove.
+     * @throws IllegalStateException if there are active reservations.
+     */
+    public synchronized void removeRoom(String roomName) {
+        Room room = doesRoomExist(roomName);
+        if (room != null) {
+            ReentrantLock lock = lockFor(room);
+            lock.lock();
+            try {
+                if (room.hasReservations()) {
+                    throw new IllegalStateException("Cannot remove room with active reservations.");
+                }
+                for (int date = 1; date <= bookingHorizon; date++) {
+                    if (room.isBookedOn(date)) {
+                        bookedRoomsPerNight.decrementAndGet(date - 1);
+                    }
+                }
+                listener.roomRemoved(this, room);
+                roomIndex.remove(normalizeName(room.getName()));
+            } finally {
+                lock.unlock();
+            }
+            roomStore.remove(room);
+            fireRoomsChanged();
+        } else {
+            throw new IllegalArgumentException("Room not found.");
+        }
+    }
+
+    /**
+     * Updates the base price for all rooms in the hotel. Room prices are derived from the
+     * base price when read, so this only publishes a new rate version; existing reservations
+     * keep the version they were booked at.
+     * @param newPrice The new base price, at least {@link #MIN_BASE_PRICE}.
+     * @return True if the price was updated; false if it is below the minimum.
+     */
+    public synchronized boolean updateBasePrice(double newPrice) {
+        if (!(newPrice >= MIN_BASE_PRICE)) {
+            return false;
+        }
+        long start = HotelMetrics.now();
+        RateVersion next = roomStore.getRate().next(newPrice);
+        listener.basePriceUpdated(this, next);
+        roomStore.setRate(next);
+        HotelMetrics.recordRepricing(start);
+        return true;
+    }
+
+    /**
+     * Finds a reservation by the guest's name.
+     * @param guestName The name of the guest.
+     * @return The guest's earliest booked Reservation if found; null otherwise.
+     */
+    public Reservation findReservationByGuestName(String guestName) {
+        GuestReservations guestReservations = guestReservationsOf(guestName);
+        return guestReservations == null ? null : guestReservations.first();
+    }
+
+    /**
+     * Finds all reservations held by a guest.
+     * @param guestName The name of the guest.
+     * @return The guest's reservations in booking order; an empty list if there are none.
+     */
+    public List<Reservation> findReservationsByGuestName(String guestName) {
+        GuestReservations guestReservations = guestReservationsOf(guestName);
+        if (guestReservations == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(guestReservations.toList());
+    }
+
+    /**
+     * Finds all reservations booked in a room.
+     * @param roomName The name of the room.
+     * @return The room's reservations in booking order; an empty list if the room has none or does not exist.
+     */
+    public List<Reservation> findReservationsByRoom(String roomName) {
+        Room room = doesRoomExist(roomName);
+        if (room == null) {
+            return Collections.emptyList();
+        }
+        return room.getReservations();
+    }
+
+    /**
+     * Finds a reservation by its booking number.
+     * @param bookingNumber The booking number.
+     * @return The reservation if found; null otherwise.
+     */
+    public Reservation findReservationByBookingNumber(long bookingNumber) {
+        return reservations.get(bookingNumber);
+    }
+
+    /**
+     * Removes a reservation from the hotel.
+     * @param guestName The reservation to remove under the guest name.
+     * @return True if a reservation was removed; false if the guest has none.
+     */
+    public boolean removeReservation(String guestName) {
+        Reservation reservationToRemove = findReservationByGuestName(guestName);
+        return reservationToRemove != null && removeReservation(reservationToRemove);
+    }
+
+    /**
+     * Removes a specific reservation from the hotel and frees its nights. Like a booking, the
+     * cancellation is first claimed under the room's lock stripe, so only one caller can cancel
+     * a reservation, then reported to the listener, and only then made visible. If the listener
+     * fails, the claim is released and the reservation stays booked.
+     * @param reservation The reservation to remove.
+     * @return True if the reservation was removed; false if it is not in the hotel.
+     */
+    public boolean removeReservation(Reservation reservation) {
+        Room reservedRoom = reservation.getRoom();
+        int checkIn = reservation.getCheckInDate();
+        int checkOut = reservation.getCheckOutDate();
+        ReentrantLock lock = lockFor(reservedRoom);
+
+        lock.lock();
+        try {
+            if (reservation.isCancelled() || reservations.get(reservation.getBookingNumber()) != reservation) {
+                return false;
+            }
+            reservation.setCancelled(true);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            listener.reservationCancelled(this, reservation);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                reservation.setCancelled(false);
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        reservations.remove(reservation.getBookingNumber(), reservation);
+        reservationCount.decrement();
+        guestIndex.computeIfPresent(normalizeName(reservation.getGuestName()),
+                (key, guestReservations) -> guestReservations.remove(reservation) ? guestReservations : null);
+        lock.lock();
+        try {
+            reservedRoom.removeReservation(reservation);
+            reservedRoom.cancelBooking(checkIn, checkOut); // Mark room as available again
+        } finally {
+            lock.unlock();
+        }
+        updateOccupancy(checkIn, checkOut, -1);
+        updateEarnings(reservation, -1);
+        fireNightsChanged(reservedRoom, checkIn, checkOut);
+        return true;
+    }
+
+    /**
+     * Re-applies a base price change read back from a journal.
+     * @param newPrice The new base price.
+     * @param effectiveFrom When the change took effect.
+     */
+    synchronized void restoreBasePrice(double newPrice, Instant effectiveFrom) {
+        roomStore.setRate(roomStore.getRate().next(newPrice, effectiveFrom));
+    }
+
+    /**
+     * Re-books a reservation read back from a journal, keeping its booking number and price.
+     * @param bookingNumber The booking number of the reservation.
+     * @param roomName The name of the reserved room.
+     * @param guestName The name of the guest.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param totalPrice The total price of the reservation.
+     * @param discountCode The discount code the guest asked for.
+     * @param rateVersion The number of the rate version the reservation was priced with.
+     * @throws IllegalStateException if the room does not exist or is not free for the stay.
+     */
+    void restoreReservation(long bookingNumber, String roomName, String guestName, int checkIn, int checkOut,
+                            double totalPrice, String discountCode, long rateVersion) {
+        Room room = doesRoomExist(roomName);
+        if (room == null || !isValidGuestName(guestName) || !isValidStay(checkIn, checkOut)) {
+            throw new IllegalStateException("Cannot restore booking " + bookingNumber + " in room " + roomName + ".");
+        }
+        Reservation reservation = new Reservation(guestName, checkIn, checkOut, room, totalPrice);
+        reservation.setDiscountCode(discountCode);
+        RateVersion rate = roomStore.getRate();
+        while (rate.getPrevious() != null && rate.getVersion() > rateVersion) {
+            rate = rate.getPrevious();
+        }
+        reservation.setRateVersion(rate);
+        if (!claimRoom(room, reservation)) {
+            throw new IllegalStateException("Cannot restore booking " + bookingNumber + ": room " + roomName + " is taken.");
+        }
+        reservation.setBookingNumber(bookingNumber);
+        lastBookingNumber.accumulateAndGet(bookingNumber, Math::max);
+        publishReservation(reservation);
+        fireNightsChanged(room, checkIn, checkOut);
+    }
+
+    /**
+     * Gets the columns holding the rooms of the hotel.
+     * @return The room store.
+     */
+    RoomStore getRoomStore() {
+        return roomStore;
+    }
+
+    /**
+     * Gets the price multipliers of the hotel's nights.
+     * @return The rate calendar.
+     */
+    RateCalendar getRateCalendar() {
+        return rates;
+    }
+
+    /**
+     * Gets the last booking number handed out, including those of cancelled reservations.
+     * @return The last booking number.
+     */
+    long getLastBookingNumber() {
+        return lastBookingNumber.get();
+    }
+
+    /**
+     * Re-creates the rooms of a hotel read back from a snapshot, one per slot, with their booked
+     * nights. The hotel must have no rooms yet, so the rooms land in the slots they were saved from.
+     * @param names The names of the rooms, by slot.
+     * @param types The types of the rooms, by slot.
+     * @param removed Whether the room in each slot had been removed.
+     * @param calendars The booked-night chunks of each room's calendar, by slot.
+     * @return The restored rooms, by slot.
+     * @throws IllegalStateException if the hotel already has rooms.
+     */
+    synchronized Room[] restoreRooms(String[] names, RoomType[] types, boolean[] removed, long[][] calendars) {
+        if (roomStore.getSlotCount() != 0) {
+            throw new IllegalStateException("Cannot restore rooms into hotel " + name + ": it already has rooms.");
+        }
+        Room[] rooms = new Room[names.length];
+        for (int slot = 0; slot < names.length; slot++) {
+            rooms[slot] = roomStore.add(names[slot], types[slot]);
+            roomStore.calendarAt(slot).setChunks(calendars[slot]);
+            if (removed[slot]) {
+                roomStore.remove(rooms[slot]);
+            } else {
+                roomIndex.put(normalizeName(names[slot]), rooms[slot]);
+            }
+        }
+        return rooms;
+    }
+
+    /**
+     * Publishes reservations read back from a snapshot, whose nights are already booked in the
+     * restored room calendars. The hotel must not hold any reservations yet and must not be
+     * visible to other threads, because the booking ledger and guest index are replaced: the
+     * ledger is built from the sorted reservations in one linear pass, and the guest index is
+     * sized up front so it never grows while being filled. Each room's reservation list is
+     * filled in one step and the totals are updated once for the whole set.
+     * @param restored The numbered reservations, in booking order.
+     * @param lastNumber The last booking number handed out before the snapshot was taken.
+     * @throws IllegalStateException if the hotel already has reservations or the reservations are not in booking order.
+     */
+    void restoreReservations(List<Reservation> restored, long lastNumber) {
+        if (!reservations.isEmpty()) {
+            throw new IllegalStateException("Cannot restore reservations into hotel " + name + ": it already has reservations.");
+        }
+        reservations = new ConcurrentSkipListMap<>(new BookingOrder(restored));
+        guestIndex = new ConcurrentHashMap<>(Math.max(16, restored.size()));
+        indexRestoredGuests(restored);
+
+        Reservation[][] bySlot = groupBySlot(restored);
+        for (int slot = 0; slot < bySlot.length; slot++) {
+            if (bySlot[slot] != null) {
+                roomStore.reservationsAt(slot).addAll(Arrays.asList(bySlot[slot]));
+            }
+        }
+        addRestoredNights(restored);
+        long total = addRestoredEarnings(restored);
+        totalEarnings.add(total);
+        reservationCount.add(restored.size());
+        lastBookingNumber.accumulateAndGet(lastNumber, Math::max);
+    }
+
+    /**
+     * Groups restored reservations by the slot of their room. Each pass over the reservations
+     * of a restore is its own small method, so it is compiled on its own while it runs.
+     * @param restored The reservations, in booking order.
+     * @return The reservations of each slot in booking order, or null for slots without any.
+     */
+    private Reservation[][] groupBySlot(List<Reservation> restored) {
+        int[] perSlot = new int[roomStore.getSlotCount()];
+        for (Reservation reservation : restored) {
+            perSlot[reservation.getRoom().getSlot()]++;
+        }
+        Reservation[][] bySlot = new Reservation[perSlot.length][];
+        for (Reservation reservation : restored) {
+            int slot = reservation.getRoom().getSlot();
+            if (bySlot[slot] == null) {
+                bySlot[slot] = new Reservation[perSlot[slot]];
+                perSlot[slot] = 0;
+            }
+            bySlot[slot][perSlot[slot]++] = reservation;
+        }
+        return bySlot;
+    }
+
+    /**
+     * Adds restored reservations to the number of rooms booked each night.
+     * @param restored The reservations.
+     */
+    private void addRestoredNights(List<Reservation> restored) {
+        int[] nightDeltas = new int[MAX_BOOKING_HORIZON];
+        for (Reservation reservation : restored) {
+            for (int i = reservation.getCheckInDate() - 1; i < reservation.getCheckOutDate() - 1; i++) {
+                nightDeltas[i]++;
+            }
+        }
+        for (int i = 0; i < nightDeltas.length; i++) {
+            if (nightDeltas[i] != 0) {
+                bookedRoomsPerNight.addAndGet(i, nightDeltas[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds restored reservations to the earnings of their room types.
+     * @param restored The reservations.
+     * @return The total price of the reservations, in earnings units.
+     */
+    private long addRestoredEarnings(List<Reservation> restored) {
+        long[] earnings = new long[RoomTypeRegistry.size()];
+        int[] counts = new int[earnings.length];
+        long total = 0;
+        for (Reservation reservation : restored) {
+            long amount = toEarningsUnits(reservation.getTotalPrice());
+            total += amount;
+            earnings[reservation.getRoom().getTypeOrdinal()] += amount;
+            counts[reservation.getRoom().getTypeOrdinal()]++;
+        }
+        for (int ordinal = 0; ordinal < earnings.length; ordinal++) {
+            if (counts[ordinal] != 0) {
+                String typeName = RoomTypeRegistry.get(ordinal).getTypeName();
+                earningsByRoomType.computeIfAbsent(typeName, k -> new TypeEarnings()).add(earnings[ordinal], counts[ordinal]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Adds restored reservations to the guest index. Only used while restoring a hotel no
+     * other thread can see, so entries are added without the index's compute.
+     * @param restored The reservations, in booking order.
+     */
+    private void indexRestoredGuests(List<Reservation> restored) {
+        for (Reservation reservation : restored) {
+            GuestReservations guestReservations = guestIndex.putIfAbsent(normalizeName(reservation.getGuestName()),
+                    new GuestReservations(reservation));
+            if (guestReservations != null) {
+                guestReservations.add(reservation);
+            }
+        }
+    }
+
+    /**
+     * Adds a block of imported rooms under one hold of the hotel's lock. Each name is checked
+     * against the room index and the rest of the block once, so a block costs one hash probe
+     * per room rather than a scan. The rooms that pass are reported to the listener in one call
+     * before any of them is published, and the availability listeners hear about the block as a
+     * single change.
+     * @param names The names of the rooms.
+     * @param types The registered types of the rooms.
+     * @param count The number of rooms in the block.
+     * @return Why each room was not added, or null entries for rooms that were added.
+     */
+    synchronized String[] importRooms(String[] names, RoomType[] types, int count) {
+        String[] rejected = new String[count];
+        String[] keys = new String[count];
+        String[] acceptedNames = new String[count];
+        RoomType[] acceptedTypes = new RoomType[count];
+        HashSet<String> blockNames = new HashSet<>(count * 2);
+        int accepted = 0;
+        for (int i = 0; i < count; i++) {
+            keys[i] = normalizeName(names[i]);
+            if (maxRooms != NO_ROOM_LIMIT && getTotalRooms() + accepted >= maxRooms) {
+                rejected[i] = "Cannot add more than " + maxRooms + " rooms.";
+            } else if (roomIndex.containsKey(keys[i]) || !blockNames.add(keys[i])) {
+                rejected[i] = "Room with this name already exists.";
+            } else {
+                acceptedNames[accepted] = names[i];
+                acceptedTypes[accepted++] = types[i];
+            }
+        }
+        if (accepted == 0) {
+            return rejected;
+        }
+
+        listener.roomsAdded(this, acceptedNames, acceptedTypes, accepted);
+        for (int i = 0; i < count; i++) {
+            if (rejected[i] == null) {
+                roomIndex.put(keys[i], roomStore.add(names[i], types[i]));
+            }
+        }
+        fireRoomsChanged();
+        return rejected;
+    }
+
+    /**
+     * Books a block of imported reservations, keeping the prices and discount codes they were
+     * exported with. The rooms are claimed one lock stripe at a time, as in a best-effort batch,
+     * and the claimed reservations are numbered, journaled and published in one pass.
+     * @param pending The reservations to book, with their rooms, dates, prices and discount codes set.
+     * @return The outcome of each reservation, in the same order.
+     */
+    BookingStatus[] importReservations(Reservation[] pending) {
+        BookingStatus[] statuses = new BookingStatus[pending.length];
+        Reservation[] claimable = new Reservation[pending.length];
+        int[] stripes = new int[pending.length];
+        RateVersion rate = roomStore.getRate();
+        for (int i = 0; i < pending.length; i++) {
+            Reservation reservation = pending[i];
+            if (!isValidGuestName(reservation.getGuestName())) {
+                statuses[i] = BookingStatus.INVALID_GUEST_NAME;
+            } else if (!isValidStay(reservation.getCheckInDate(), reservation.getCheckOutDate())) {
+                statuses[i] = BookingStatus.INVALID_DATES;
+            } else {
+                reservation.setRateVersion(rate);
+                claimable[i] = reservation;
+                stripes[i] = stripeOf(reservation.getRoom());
+            }
+        }
+        claimEach(claimable, stripes, statuses);
+
+        ArrayList<Reservation> booked = new ArrayList<>(pending.length);
+        for (int i = 0; i < pending.length; i++) {
+            if (statuses[i] == null) {
+                statuses[i] = BookingStatus.BOOKED;
+                booked.add(pending[i]);
+            }
+        }
+        try {
+            recordReservations(booked);
+        } catch (RuntimeException e) {
+            for (Reservation reservation : booked) {
+                releaseClaim(reservation);
+            }
+            throw e;
+        }
+        fireNightsBooked(booked);
+        return statuses;
+    }
+
+    /**
+     * Gets a live, read-only view of the reservations in booking order, for walking them
+     * without copying. Reservations booked or cancelled during the walk may or may not be seen.
+     * @return The reservations.
+     */
+    Collection<Reservation> reservationsInOrder() {
+        return Collections.unmodifiableCollection(reservations.values());
+    }
+
+    /**
+     * Gets the indexed reservations of a guest.
+     * @param guestName The name of the guest.
+     * @return The guest's reservations, or null if the guest has none.
+     */
+    private GuestReservations guestReservationsOf(String guestName) {
+        if (guestName == null) {
+            return null;
+        }
+        return guestIndex.get(normalizeName(guestName));
+    }
+
+    /**
+     * Checks if a room with a given name exists in the hotel.
+     * @param name The name of the room to check.
+     * @return The Room object if found; null otherwise.
+     */
+    public Room doesRoomExist(String name) {
+        if (name == null) {
+            return null;
+        }
+        long start = HotelMetrics.startLookup();
+        Room room = roomIndex.get(normalizeName(name));
+        HotelMetrics.recordRoomLookup(start);
+        return room;
+    }
+
+    /**
+     * Finds rooms that are free for every night of a stay, cheapest first.
+     * Rooms of one type share a price, so the room store is scanned one type at a time in
+     * order of price and the scan stops as soon as enough rooms are found.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param type The room type to look for, or null for any type.
+     * @param limit The maximum number of rooms to return.
+     * @return Up to limit free rooms, ordered by price per night.
+     * @throws IllegalArgumentException if the dates do not form a valid stay.
+     */
+    public List<Room> findAvailableRooms(int checkIn, int checkOut, RoomType type, int limit) {
+        if (!isValidStay(checkIn, checkOut)) {
+            throw new IllegalArgumentException("Invalid check-in or check-out dates.");
+        }
+        return roomStore.findFree(firstDay + checkIn - 1, firstDay + checkOut - 1, type, limit);
+    }
+
+    /**
+     * Normalizes a name so that lookups ignore letter case.
+     * @param name The name to normalize.
+     * @return The normalized name.
+     */
+    static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the index of the lock stripe guarding a room's calendar and reservation list.
+     * @param room The room to lock.
+     * @return The stripe index for the room.
+     */
+    private static int stripeOf(Room room) {
+        return room.getSlot() & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Gets the lock guarding a room's calendar and reservation list.
+     * @param room The room to lock.
+     * @return The lock for the room.
+     */
+    private ReentrantLock lockFor(Room room) {
+        return roomLocks[stripeOf(room)];
+    }
+
+    /**
+     * Gets the number of booked rooms on a given date.
+     * @param date The date to check, from 1 to the booking horizon.
+     * @return The number of rooms booked for that night.
+     * @throws IllegalArgumentException if the date is outside the booking horizon.
+     */
+    public int getBookedRoomCount(int date) {
+        if (date < 1 || date > bookingHorizon) {
+            throw new IllegalArgumentException("Date must be between 1 and " + bookingHorizon + ".");
+        }
+        return bookedRoomsPerNight.get(date - 1);
+    }
+
+    /**
+     * Gets the number of available rooms on a given date.
+     * @param date The date to check, from 1 to the booking horizon.
+     * @return The number of rooms free for that night.
+     * @throws IllegalArgumentException if the date is outside the booking horizon.
+     */
+    public int getAvailableRoomCount(int date) {
+        return getTotalRooms() - getBookedRoomCount(date);
+    }
+
+    /**
+     * Gets the estimated earnings of the hotel from all current reservations.
+     * @return The total price of all reservations.
+     */
+    public double getTotalEarnings() {
+        return (double) totalEarnings.sum() / EARNINGS_UNITS;
+    }
+
+    /**
+     * Gets the estimated earnings of the hotel for each room type.
+     * @return The total reservation price per room type name, for types that have current reservations.
+     */
+    public Map<String, Double> getEarningsByRoomType() {
+        HashMap<String, Double> earnings = new HashMap<>();
+        for (Map.Entry<String, TypeEarnings> entry : earningsByRoomType.entrySet()) {
+            if (entry.getValue().reservations.sum() > 0) {
+                earnings.put(entry.getKey(), (double) entry.getValue().units.sum() / EARNINGS_UNITS);
+            }
+        }
+        return Collections.unmodifiableMap(earnings);
+    }
+
+    /**
+     * Gets the number of reservations in the hotel.
+     * @return The number of reservations.
+     */
+    public int getReservationCount() {
+        return reservationCount.intValue();
+    }
+
+    /**
+     * Gets the share of room-nights booked within the booking horizon.
+     * @return The occupancy between 0 and 1, or 0 if the hotel has no rooms.
+     */
+    public double getOccupancy() {
+        int nights = bookingHorizon;
+        int rooms = getTotalRooms();
+        if (rooms == 0) {
+            return 0;
+        }
+        long booked = 0;
+        for (int i = 0; i < nights; i++) {
+            booked += bookedRoomsPerNight.get(i);
+        }
+        return (double) booked / ((long) rooms * nights);
+    }
+
+    /**
+     * Adds or subtracts a reservation's price from the earnings totals.
+     * @param reservation The reservation booked or cancelled.
+     * @param sign 1 when booking, -1 when cancelling.
+     */
+    private void updateEarnings(Reservation reservation, int sign) {
+        long amount = sign * toEarningsUnits(reservation.getTotalPrice());
+        totalEarnings.add(amount);
+        earningsByRoomType.computeIfAbsent(reservation.getRoom().getType().getTypeName(), k -> new TypeEarnings()).add(amount, sign);
+    }
+
+    /**
+     * Converts a price into earnings units.
+     * @param price The price.
+     * @return The price in ten-thousandths of a unit of currency.
+     */
+    private static long toEarningsUnits(double price) {
+        return Math.round(price * EARNINGS_UNITS);
+    }
+
+    /**
+     * Adjusts the booked room count of every night in a stay.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param delta The change to apply to each night (1 when booking, -1 when cancelling).
+     */
+    private void updateOccupancy(int checkIn, int checkOut, int delta) {
+        for (int i = checkIn - 1; i < checkOut - 1; i++) {
+            bookedRoomsPerNight.addAndGet(i, delta);
+        }
+    }
+
+    /**
+     * Gets the rooms in the hotel.
+     * @return A copy of the list of rooms, in the order they were added.
+     */
+    public List<Room> getRooms() {
+        return roomStore.getRooms();
+    }
+
+    /**
+     * Displays details of the hotel including its name, total rooms, and estimated earnings.
+     */
+    public void viewHotelDetails() {
+        System.out.println("Hotel Name: " + name);
+        System.out.println("Total Rooms: " + getTotalRooms());
+        System.out.println("Base Price: " + getBasePrice() + " (rate version " + getCurrentRate().getVersion() + ")");
+        System.out.println("Total Reservations: " + getReservationCount());
+        System.out.println("Estimated Earnings for the Month: " + getTotalEarnings());
+        for (Map.Entry<String, Double> entry : getEarningsByRoomType().entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+        System.out.println("Base Price History:");
+        for (RateVersion rate : getRateHistory()) {
+            System.out.println("  " + rate);
+        }
+    }
+
+    /**
+     * Displays and handles the low-level information options in the View Hotel.
+     */
+    public void viewLowLevelDetails() {
+        System.out.println();
+        System.out.println("Available Low-level Information:");
+        System.out.println();
+        System.out.println("1. View total number of available and booked rooms for a selected date");
+        System.out.println("2. View information about a selected room");
+        System.out.println("3. View information about a selected reservation");
+        System.out.println();
+        System.out.print("Enter your choice: ");
+        Scanner scanner = new Scanner(System.in);
+        int choice = scanner.nextInt();
+
+        switch (choice) {
+            case 1:
+                System.out.print("Enter the date (1-" + bookingHorizon + "): ");
+                int date = scanner.nextInt();
+                viewAvailableAndBookedRooms(date);
+                break;
+            case 2:
+                System.out.print("Enter the room name: ");
+                String roomName = scanner.next();
+                viewRoomDetails(roomName);
+                break;
+            case 3:
+                System.out.print("Enter the guest name: ");
+                String guestName = scanner.next();
+                viewReservationDetails(guestName);
+                break;
+            default:
+                System.out.println("Invalid choice.");
+        }
+    }
+
+    /**
+     * Displays available and booked rooms.
+     * @param date The date to check availability.
+     */
+    private void viewAvailableAndBookedRooms(int date) {
+        if (date < 1 || date > bookingHorizon) {
+            System.out.println("Invalid date.");
+            return;
+        }
+        System.out.println("Available Rooms: " + getAvailableRoomCount(date));
+        System.out.println("Booked Rooms: " + getBookedRoomCount(date));
+    }
+
+    /**
+     * Displays a room's details.
+     * @param roomName The name of the room.
+     */
+    private void viewRoomDetails(String roomName) {
+        Room room = doesRoomExist(roomName);
+        if (room != null) {
+            room.displayRoomDetails(bookingHorizon);
+        } else {
+            System.out.println("Room not found.");
+        }
+    }
+
+    /**
+     * Displays details of every reservation held by a guest.
+     * @param guestName The name of the guest.
+     */
+    private void viewReservationDetails(String guestName) {
+        List<Reservation> guestReservations = findReservationsByGuestName(guestName);
+        if (guestReservations.isEmpty()) {
+            System.out.println("Reservation not found.");
+            return;
+        }
+        for (Reservation reservation : guestReservations) {
+            reservation.displayReservationDetails();
+            System.out.println();
+        }
+    }
+
+    /**
+     * Simulates booking a room for a guest with specified dates.
+     * @param roomName The name of the room to book.
+     * @param guestName The name of the guest booking the room.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param discountCode The discount code to apply.
+     * @return The booked result with its reservation, or the shared result of the reason the
+     *         booking was rejected. Rejections neither print nor throw.
+     * @throws IllegalStateException if the booking cannot be recorded by the hotel's listener.
+     */
+    public BookingResult simulateBooking(String roomName, String guestName, int checkIn, int checkOut, String discountCode) {
+        long start = HotelMetrics.now();
+        BookingResult result = book(roomName, guestName, checkIn, checkOut, discountCode);
+        HotelMetrics.recordBooking(result.getStatus(), start);
+        return result;
+    }
+
+    /**
+     * Books a room for a guest with specified dates.
+     * @param roomName The name of the room to book.
+     * @param guestName The name of the guest booking the room.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param discountCode The discount code to apply.
+     * @return The booked result with its reservation, or the shared result of the reason the booking was rejected.
+     * @throws IllegalStateException if the booking cannot be recorded by the hotel's listener.
+     */
+    private BookingResult book(String roomName, String guestName, int checkIn, int checkOut, String discountCode) {
+        if (closed) {
+            return BookingResult.rejected(BookingStatus.HOTEL_NOT_FOUND);
+        }
+        if (!isValidGuestName(guestName)) {
+            return BookingResult.rejected(BookingStatus.INVALID_GUEST_NAME);
+        }
+        if (!isValidStay(checkIn, checkOut)) {
+            return BookingResult.rejected(BookingStatus.INVALID_DATES);
+        }
+        Room room = doesRoomExist(roomName);
+        if (room == null) {
+            return BookingResult.rejected(BookingStatus.ROOM_NOT_FOUND);
+        }
+        if (!room.isAvailable(checkIn, checkOut)) {
+            return BookingResult.rejected(BookingStatus.ROOM_NOT_AVAILABLE);
+        }
+        RateVersion rate = roomStore.getRate();
+        double totalPrice = calculateTotalPrice(rate.priceOf(room), checkIn, checkOut, discountCode);
+        if (Double.isNaN(totalPrice)) {
+            return BookingResult.rejected(BookingStatus.INVALID_DISCOUNT_CODE);
+        }
+
+        // Create a reservation
+        Reservation reservation = new Reservation(guestName, checkIn, checkOut, room, totalPrice);
+        reservation.setDiscountCode(discountCode == null ? "" : discountCode);
+        reservation.setRateVersion(rate);
+
+        if (!claimRoom(room, reservation)) {
+            return BookingResult.rejected(BookingStatus.ROOM_NOT_AVAILABLE);
+        }
+        try {
+            recordReservation(reservation);
+        } catch (RuntimeException e) {
+            releaseClaim(reservation);
+            throw e;
+        }
+        fireNightsChanged(room, checkIn, checkOut);
+        return new BookingResult(BookingStatus.BOOKED, reservation);
+    }
+
+    /**
+     * Atomically checks that a room is still free for a reservation's nights and books them.
+     * Only the room's lock stripe is held, so claims on other rooms run in parallel.
+     * @param room The room to claim.
+     * @param reservation The reservation the nights are claimed for.
+     * @return True if the nights were claimed; false if the room was removed or is no longer free.
+     */
+    private boolean claimRoom(Room room, Reservation reservation) {
+        ReentrantLock lock = lockFor(room);
+        lock.lock();
+        try {
+            return claimRoomLocked(room, reservation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks that a room is still free for a reservation's nights and books them.
+     * The caller must hold the room's lock stripe.
+     * @param room The room to claim.
+     * @param reservation The reservation the nights are claimed for.
+     * @return True if the nights were claimed; false if the room or hotel was removed or the room is no longer free.
+     */
+    private boolean claimRoomLocked(Room room, Reservation reservation) {
+        int checkIn = reservation.getCheckInDate();
+        int checkOut = reservation.getCheckOutDate();
+        if (closed || roomIndex.get(normalizeName(room.getName())) != room || !room.isAvailable(checkIn, checkOut)) {
+            return false;
+        }
+        room.bookRoom(checkIn, checkOut);
+        room.addReservation(reservation);
+        return true;
+    }
+
+    /**
+     * Releases the nights of a reservation claimed earlier in the same batch.
+     * The caller must hold the room's lock stripe.
+     * @param reservation The reservation whose claim is undone.
+     */
+    private void unclaimRoomLocked(Reservation reservation) {
+        Room room = reservation.getRoom();
+        room.removeReservation(reservation);
+        room.cancelBooking(reservation.getCheckInDate(), reservation.getCheckOutDate());
+    }
+
+    /**
+     * Releases the nights of a reservation whose room was claimed but which could not be recorded.
+     * @param reservation The reservation whose claim is undone.
+     */
+    private void releaseClaim(Reservation reservation) {
+        ReentrantLock lock = lockFor(reservation.getRoom());
+        lock.lock();
+        try {
+            unclaimRoomLocked(reservation);
+        } finally {
+            lock.unlock();
+        }
+        fireNightsChanged(reservation.getRoom(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+    }
+
+    /**
+     * Gives a reservation whose room has been claimed a booking number, reports it to the
+     * listener and publishes it to the hotel indexes and totals. If this throws, nothing was
+     * published and the caller only has to release the claim.
+     * @param reservation The reservation to record.
+     */
+    private void recordReservation(Reservation reservation) {
+        reservation.setBookingNumber(lastBookingNumber.incrementAndGet());
+        listener.reservationBooked(this, reservation);
+        publishReservation(reservation);
+    }
+
+    /**
+     * Publishes a numbered reservation whose room has been claimed to the hotel indexes and totals.
+     * The ledger entry goes in last, so a reservation found in the ledger is fully published.
+     * The availability observers are not told; the caller does that once the booking is final.
+     * @param reservation The reservation to publish.
+     */
+    private void publishReservation(Reservation reservation) {
+        indexGuestReservation(reservation);
+        updateOccupancy(reservation.getCheckInDate(), reservation.getCheckOutDate(), 1);
+        updateEarnings(reservation, 1);
+        reservations.put(reservation.getBookingNumber(), reservation);
+        reservationCount.increment();
+    }
+
+    /**
+     * Adds a reservation to the guest index.
+     * @param reservation The reservation to index.
+     */
+    private void indexGuestReservation(Reservation reservation) {
+        guestIndex.compute(normalizeName(reservation.getGuestName()), (key, guestReservations) -> {
+            if (guestReservations == null) {
+                return new GuestReservations(reservation);
+            }
+            guestReservations.add(reservation);
+            return guestReservations;
+        });
+    }
+
+    /**
+     * Books many rooms at once. Every request is validated, priced and discounted before any
+     * room is claimed, each lock stripe is taken once for all the requests it covers, and the
+     * hotel indexes and totals are updated once for the whole batch.
+     * In all-or-nothing mode, either every request is booked or none is: if any request fails,
+     * the others are reported as {@link BookingStatus#ROLLED_BACK}. In best-effort mode, every
+     * request that can be booked is booked and the others report why they failed.
+     * @param requests The bookings to make, in priority order.
+     * @param allOrNothing True to commit all bookings or none; false to book as many as possible.
+     * @return One result per request, in the same order as the requests.
+     */
+    public List<BookingResult> bookBatch(List<BookingRequest> requests, boolean allOrNothing) {
+        int size = requests.size();
+        BookingStatus[] statuses = new BookingStatus[size];
+        Reservation[] pending = new Reservation[size];
+        int[] stripes = new int[size];
+        boolean failed = false;
+
+        // Validate, look up and price every request before taking any lock
+        RateVersion rate = roomStore.getRate();
+        for (int i = 0; i < size; i++) {
+            BookingRequest request = requests.get(i);
+            int checkIn = request.getCheckIn();
+            int checkOut = request.getCheckOut();
+            Room room = doesRoomExist(request.getRoomName());
+            if (!isValidGuestName(request.getGuestName())) {
+                statuses[i] = BookingStatus.INVALID_GUEST_NAME;
+            } else if (!isValidStay(checkIn, checkOut)) {
+                statuses[i] = BookingStatus.INVALID_DATES;
+            } else if (room == null) {
+                statuses[i] = BookingStatus.ROOM_NOT_FOUND;
+            } else {
+                double totalPrice = calculateTotalPrice(rate.priceOf(room), checkIn, checkOut, request.getDiscountCode());
+                if (Double.isNaN(totalPrice)) {
+                    statuses[i] = BookingStatus.INVALID_DISCOUNT_CODE;
+                } else {
+                    pending[i] = new Reservation(request.getGuestName(), checkIn, checkOut, room, totalPrice);
+                    pending[i].setDiscountCode(request.getDiscountCode());
+                    pending[i].setRateVersion(rate);
+                    stripes[i] = stripeOf(room);
+                }
+            }
+            failed |= statuses[i] != null;
+        }
+
+        if (!(allOrNothing && failed)) {
+            failed = allOrNothing ? claimAll(pending, stripes, statuses) : claimEach(pending, stripes, statuses);
+        }
+
+        ArrayList<BookingResult> results = new ArrayList<>(size);
+        ArrayList<Reservation> booked = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == null) {
+                statuses[i] = allOrNothing && failed ? BookingStatus.ROLLED_BACK : BookingStatus.BOOKED;
+            }
+            if (statuses[i] == BookingStatus.BOOKED) {
+                booked.add(pending[i]);
+                results.add(new BookingResult(BookingStatus.BOOKED, pending[i]));
+            } else {
+                results.add(BookingResult.rejected(statuses[i]));
+            }
+        }
+        try {
+            recordReservations(booked);
+        } catch (RuntimeException e) {
+            for (Reservation reservation : booked) {
+                releaseClaim(reservation);
+            }
+            throw e;
+        }
+        fireNightsBooked(booked);
+        for (BookingStatus status : statuses) {
+            HotelMetrics.recordOutcome(status);
+        }
+        return results;
+    }
+
+    /**
+     * Claims the rooms of every pending reservation, or none of them. All the stripes involved
+     * are locked in ascending order for the duration of the claim.
+     * @param pending The reservations to claim, with null entries for rejected requests.
+     * @param stripes The lock stripe of each pending reservation.
+     * @param statuses The status of each request, filled in for reservations that cannot be claimed.
+     * @return True if any reservation could not be claimed and the batch was rolled back.
+     */
+    private boolean claimAll(Reservation[] pending, int[] stripes, BookingStatus[] statuses) {
+        boolean[] involved = new boolean[LOCK_STRIPES];
+        for (int i = 0; i < pending.length; i++) {
+            if (pending[i] != null) {
+                involved[stripes[i]] = true;
+            }
+        }
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            if (involved[stripe]) {
+                roomLocks[stripe].lock();
+            }
+        }
+        try {
+            for (int i = 0; i < pending.length; i++) {
+                if (pending[i] != null && !claimRoomLocked(pending[i].getRoom(), pending[i])) {
+                    statuses[i] = BookingStatus.ROOM_NOT_AVAILABLE;
+                    for (int j = 0; j < i; j++) {
+                        if (pending[j] != null) {
+                            unclaimRoomLocked(pending[j]);
+                        }
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            for (int stripe = LOCK_STRIPES - 1; stripe >= 0; stripe--) {
+                if (involved[stripe]) {
+                    roomLocks[stripe].unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the room of every pending reservation that is still free, taking each lock
+     * stripe once for all the reservations it guards.
+     * @param pending The reservations to claim, with null entries for rejected requests.
+     * @param stripes The lock stripe of each pending reservation.
+     * @param statuses The status of each request, filled in for reservations that cannot be claimed.
+     * @return True if any reservation could not be claimed.
+     */
+    private boolean claimEach(Reservation[] pending, int[] stripes, BookingStatus[] statuses) {
+        // Counting sort of the requests by stripe, keeping request order within a stripe
+        int[] stripeStart = new int[LOCK_STRIPES + 1];
+        for (int i = 0; i < pending.length; i++) {
+            if (pending[i] != null) {
+                stripeStart[stripes[i] + 1]++;
+            }
+        }
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            stripeStart[stripe + 1] += stripeStart[stripe];
+        }
+        int[] order = new int[stripeStart[LOCK_STRIPES]];
+        int[] next = stripeStart.clone();
+        for (int i = 0; i < pending.length; i++) {
+            if (pending[i] != null) {
+                order[next[stripes[i]]++] = i;
+            }
+        }
+
+        boolean failed = false;
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            if (stripeStart[stripe] == stripeStart[stripe + 1]) {
+                continue;
+            }
+            roomLocks[stripe].lock();
+            try {
+                for (int k = stripeStart[stripe]; k < stripeStart[stripe + 1]; k++) {
+                    int i = order[k];
+                    if (!claimRoomLocked(pending[i].getRoom(), pending[i])) {
+                        statuses[i] = BookingStatus.ROOM_NOT_AVAILABLE;
+                        failed = true;
+                    }
+                }
+            } finally {
+                roomLocks[stripe].unlock();
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Numbers the claimed reservations of a batch, reports them to the listener and publishes
+     * them, folding the occupancy and count updates into one pass over the affected nights.
+     * As for a single booking, the ledger entries go in last and the availability observers
+     * are left to the caller, so if this throws nothing was published.
+     * @param booked The reservations whose rooms have been claimed.
+     */
+    private void recordReservations(List<Reservation> booked) {
+        if (booked.isEmpty()) {
+            return;
+        }
+        int[] nightDeltas = new int[MAX_BOOKING_HORIZON];
+        long bookingNumber = lastBookingNumber.getAndAdd(booked.size());
+        for (Reservation reservation : booked) {
+            reservation.setBookingNumber(++bookingNumber);
+        }
+        listener.reservationsBooked(this, booked);
+        for (Reservation reservation : booked) {
+            indexGuestReservation(reservation);
+            for (int i = reservation.getCheckInDate() - 1; i < reservation.getCheckOutDate() - 1; i++) {
+                nightDeltas[i]++;
+            }
+            updateEarnings(reservation, 1);
+        }
+        for (int i = 0; i < nightDeltas.length; i++) {
+            if (nightDeltas[i] != 0) {
+                bookedRoomsPerNight.addAndGet(i, nightDeltas[i]);
+            }
+        }
+        for (Reservation reservation : booked) {
+            reservations.put(reservation.getBookingNumber(), reservation);
+        }
+        reservationCount.add(booked.size());
+    }
+
+    /**
+     * Tells the availability observers about the nights of a batch of new bookings.
+     * @param booked The reservations booked.
+     */
+    private void fireNightsBooked(List<Reservation> booked) {
+        for (Reservation reservation : booked) {
+            fireNightsChanged(reservation.getRoom(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        }
+    }
+
+    /**
+     * Checks if a guest name can be booked and indexed.
+     * @param guestName The name of the guest.
+     * @return True if the name is present and not blank; false otherwise.
+     */
+    private static boolean isValidGuestName(String guestName) {
+        return guestName != null && !guestName.trim().isEmpty();
+    }
+
+    /**
+     * Checks if a check-in and check-out date form a valid stay within the booking horizon.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @return True if the dates are valid; false otherwise.
+     */
+    private boolean isValidStay(int checkIn, int checkOut) {
+        return checkIn >= 1 && checkOut <= bookingHorizon && checkIn < checkOut;
+    }
+
+    /**
+     * Calculates the total price for a stay, applying each night's date modifier to the room
+     * rate and then the automatic discounts and the discount code the guest asked for.
+     * @param pricePerNight The price per night of the room.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param discountCode The discount code provided by the guest, or an empty string for none.
+     * @return The total price for the stay, or NaN if the discount code is not valid.
+     */
+    private double calculateTotalPrice(double pricePerNight, int checkIn, int checkOut, String discountCode) {
+        return discounts.price(discountCode, pricePerNight, rates, checkIn, checkOut);
+    }
+
+    /**
+     * Removes a hotel if there are no active reservations.
+     * @throws IllegalStateException if there are active reservations in the hotel.
+     */
+    public void removeHotel() {
+        if (!HotelSystem.removeHotel(this)) {
+            throw new IllegalStateException("Cannot remove Hotel with active reservations.");
+        }
+    }
+
+    /**
+     * Stops the hotel taking bookings so it can be removed, if no room is booked. Every lock
+     * stripe is held while the rooms are checked and the removal is reported to the listener,
+     * so a booking either claimed its room first and keeps the hotel open, or sees the hotel
+     * closed and is refused; no booking can be reported after the removal. Once closed, the
+     * hotel reports nothing more to its listener.
+     * @return True if the hotel is closed; false if a room is still booked.
+     */
+    synchronized boolean close() {
+        if (closed) {
+            return true;
+        }
+        for (ReentrantLock lock : roomLocks) {
+            lock.lock();
+        }
+        try {
+            for (Room room : roomStore.getRooms()) {
+                if (room.hasReservations()) {
+                    return false;
+                }
+            }
+            listener.hotelRemoved(this);
+            closed = true;
+            listener = HotelEventListener.NONE;
+            return true;
+        } finally {
+            for (int i = roomLocks.length - 1; i >= 0; i--) {
+                roomLocks[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets the list of reservations in the Hotel.
+     * @return A copy of the reservations in booking order.
+     * */
+    public ArrayList<Reservation> getReservations(){
+        return new ArrayList<>(this.reservations.values());
+    }
+
+    /**
+     * Restored reservations seen as a map sorted by booking number, for building the booking
+     * ledger in one pass. Only iteration is supported, and it fails if the reservations are
+     * not in ascending booking order.
+     */
+    private static final class BookingOrder extends AbstractMap<Long, Reservation> implements SortedMap<Long, Reservation> {
+
+        /**
+         * The reservations, in booking order.
+         * */
+        private final List<Reservation> restored;
+
+        /**
+         * Initializes a view of restored reservations.
+         * @param restored The reservations, in booking order.
+         */
+        BookingOrder(List<Reservation> restored) {
+            this.restored = restored;
+        }
+
+        @Override
+        public Set<Map.Entry<Long, Reservation>> entrySet() {
+            return new AbstractSet<Map.Entry<Long, Reservation>>() {
+                @Override
+                public Iterator<Map.Entry<Long, Reservation>> iterator() {
+                    return new Iterator<Map.Entry<Long, Reservation>>() {
+                        private int next;
+                        private long lastNumber = Long.MIN_VALUE;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < restored.size();
+                        }
+
+                        @Override
+                        public Map.Entry<Long, Reservation> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Reservation reservation = restored.get(next++);
+                            long bookingNumber = reservation.getBookingNumber();
+                            if (bookingNumber <= lastNumber) {
+                                throw new IllegalStateException("Restored booking " + bookingNumber + " is out of booking order.");
+                            }
+                            lastNumber = bookingNumber;
+                            return new AbstractMap.SimpleImmutableEntry<>(bookingNumber, reservation);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return restored.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return null;
+        }
+
+        @Override
+        public Long firstKey() {
+            if (restored.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return restored.get(0).getBookingNumber();
+        }
+
+        @Override
+        public Long lastKey() {
+            if (restored.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return restored.get(restored.size() - 1).getBookingNumber();
+        }
+
+        @Override
+        public SortedMap<Long, Reservation> subMap(Long fromKey, Long toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Long, Reservation> headMap(Long toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Long, Reservation> tailMap(Long fromKey) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * The reservations of one guest, earliest booked first. A guest with a single reservation,
+     * the usual case, costs one small object; the array for later reservations is made only
+     * when a second one arrives. Changes are made under the guest index's lock for the guest
+     * and reads copy the reservations out, all under this object's own lock.
+     */
+    private static final class GuestReservations {
+
+        /**
+         * The earliest booked reservation, or null if none are left.
+         * */
+        private Reservation first;
+
+        /**
+         * The later reservations, with free slots at the end; null until there is a second one.
+         * */
+        private Reservation[] later;
+
+        /**
+         * The number of reservations held.
+         * */
+        private int size;
+
+        /**
+         * Initializes the reservations of a guest with the guest's first one.
+         * @param first The first reservation.
+         */
+        GuestReservations(Reservation first) {
+            this.first = first;
+            this.size = 1;
+        }
+
+        /**
+         * Appends a reservation, doubling the array of later reservations when it is full.
+         * @param reservation The reservation to add.
+         */
+        synchronized void add(Reservation reservation) {
+            if (size == 0) {
+                first = reservation;
+            } else {
+                if (later == null) {
+                    later = new Reservation[2];
+                } else if (size - 1 == later.length) {
+                    later = Arrays.copyOf(later, later.length * 2);
+                }
+                later[size - 1] = reservation;
+            }
+            size++;
+        }
+
+        /**
+         * Removes a reservation, keeping the others in order.
+         * @param reservation The reservation to remove.
+         * @return True if the guest still holds reservations; false if none are left.
+         */
+        synchronized boolean remove(Reservation reservation) {
+            if (size > 0 && first == reservation) {
+                first = size > 1 ? later[0] : null;
+                removeLater(0);
+            } else {
+                for (int i = 0; i < size - 1; i++) {
+                    if (later[i] == reservation) {
+                        removeLater(i);
+                        break;
+                    }
+                }
+            }
+            return size > 0;
+        }
+
+        /**
+         * Drops one slot of the reservation count, closing the gap at a slot of the later
+         * reservations. The caller must hold this object's lock and have moved any reservation
+         * it still needs out of that slot.
+         * @param index The slot of the later reservations to close.
+         */
+        private void removeLater(int index) {
+            if (size > 1) {
+                System.arraycopy(later, index + 1, later, index, size - index - 2);
+                later[size - 2] = null;
+            }
+            size--;
+        }
+
+        /**
+         * Gets the earliest booked reservation.
+         * @return The first reservation, or null if none are left.
+         */
+        synchronized Reservation first() {
+            return first;
+        }
+
+        /**
+         * Copies the reservations out.
+         * @return A new list of the reservations, earliest booked first.
+         */
+        synchronized List<Reservation> toList() {
+            List<Reservation> list = new ArrayList<>(size);
+            if (size > 0) {
+                list.add(first);
+            }
+            if (size > 1) {
+                list.addAll(Arrays.asList(later).subList(0, size - 1));
+            }
+            return list;
+        }
+    }
+
+    /**
+     * The running totals of the reservations of one room type.
+     */
+    private static final class TypeEarnings {
+
+        /**
+         * The total price of the reservations, in earnings units.
+         * */
+        private final LongAdder units = new LongAdder();
+
+        /**
+         * The number of reservations.
+         * */
+        private final LongAdder reservations = new LongAdder();
+
+        /**
+         * Adds to the totals; negative amounts remove cancelled reservations.
+         * @param amount The change in total price, in earnings units.
+         * @param count The change in the number of reservations.
+         */
+        void add(long amount, int count) {
+            units.add(amount);
+            reservations.add(count);
+        }
+    }
+}
@@ -0,0 +1,744 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Controller for handling interactions between the View and Model in the Hotel Management System.
+ * Dialogs are shown on the Event Dispatch Thread, but every model operation goes through a
+ * {@link HotelService} and runs on its worker threads. The controller picks up each result back
+ * on the Event Dispatch Thread, so the window stays responsive however large the hotels are.
+ */
+public class HotelController {
+
+    /**
+     * Runs the model operations of the controller off the Event Dispatch Thread.
+     * */
+    private HotelService service;
+
+    /**
+     * Calls the mainView Class.
+     * */
+    private MainView mainView;
+
+    /**
+     * Initializes a new HotelController with the specified view.
+     * @param mainView The main view of the system.
+     */
+    public HotelController(MainView mainView) {
+        this.service = new HotelService(new HotelSystem());
+        this.mainView = mainView;
+
+        this.mainView.addCreateHotelListener(new CreateHotelListener());
+        this.mainView.addViewHotelListener(new ViewHotelListener());
+        this.mainView.addManageHotelListener(new ManageHotelListener());
+        this.mainView.addSimulateBookingListener(new SimulateBookingListener());
+        this.mainView.addImportListener(new ImportListener());
+        this.mainView.addExportListener(new ExportListener());
+        this.mainView.addExitListener(new ExitListener());
+    }
+
+    /**
+     * Sets the journal recording the hotel system, so its checkpoints are saved as the hotels change.
+     * @param journal The journal, or null if changes are not saved.
+     */
+    public void setJournal(Journal journal) {
+        service.setJournal(journal);
+    }
+
+    /**
+     * Handles the result of a service operation on the Event Dispatch Thread. An operation the
+     * model rejected shows the model's message; a cancelled report shows nothing.
+     * @param future The pending result.
+     * @param onSuccess Called with the result if the operation succeeded.
+     * @param <T> The type of the result.
+     */
+    private <T> void whenDone(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        whenDone(future, null, null, onSuccess);
+    }
+
+    /**
+     * Handles the result of a service operation on the Event Dispatch Thread. An operation the
+     * model rejected shows the model's message; a cancelled report shows nothing.
+     * @param future The pending result.
+     * @param cleanup Called first whatever the outcome, or null.
+     * @param errorTitle The title of the error dialog, or null for a plain message.
+     * @param onSuccess Called with the result if the operation succeeded.
+     * @param <T> The type of the result.
+     */
+    private <T> void whenDone(CompletableFuture<T> future, Runnable cleanup, String errorTitle, Consumer<T> onSuccess) {
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+            if (cleanup != null) {
+                cleanup.run();
+            }
+            if (error == null) {
+                onSuccess.accept(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                return;
+            }
+            String message = cause instanceof IllegalArgumentException || cause instanceof IllegalStateException
+                    ? cause.getMessage() : "Unexpected error: " + cause;
+            if (errorTitle == null) {
+                JOptionPane.showMessageDialog(null, message);
+            } else {
+                JOptionPane.showMessageDialog(null, message, errorTitle, JOptionPane.ERROR_MESSAGE);
+            }
+        }));
+    }
+
+    /**
+     * Builds a report in the background and shows it when it is ready. A progress dialog with a
+     * Cancel button appears if the report takes more than a moment.
+     * @param title The title of the report.
+     * @param report Starts building the report, given the progress listener to tell.
+     */
+    private void showReport(String title, Function<ReportProgress, CompletableFuture<String>> report) {
+        showReport(title, report, null);
+    }
+
+    /**
+     * Builds a report in the background and shows it when it is ready. A progress dialog with a
+     * Cancel button appears if the report takes more than a moment.
+     * @param title The title of the report.
+     * @param report Starts building the report, given the progress listener to tell.
+     * @param beforeShowing Called on the Event Dispatch Thread just before the report is shown, or null.
+     */
+    private void showReport(String title, Function<ReportProgress, CompletableFuture<String>> report, Runnable beforeShowing) {
+        ProgressMonitor monitor = new ProgressMonitor(mainView, "Preparing " + title + "...", null, 0, 1);
+        monitor.setMillisToDecideToPopup(200);
+        monitor.setMillisToPopup(500);
+        whenDone(report.apply(new MonitorProgress(monitor)), monitor::close, null, details -> {
+            if (beforeShowing != null) {
+                beforeShowing.run();
+            }
+            JOptionPane.showMessageDialog(null, details, title, JOptionPane.INFORMATION_MESSAGE);
+        });
+    }
+
+    /**
+     * Shows the progress of a report in a progress dialog. Updates from the worker thread are
+     * handed to the Event Dispatch Thread, and updates that arrive while one is still waiting
+     * there are merged into it.
+     */
+    private static final class MonitorProgress implements ReportProgress {
+
+        /**
+         * The progress dialog.
+         * */
+        private final ProgressMonitor monitor;
+
+        /**
+         * Whether an update is waiting to be shown.
+         * */
+        private final AtomicBoolean pending = new AtomicBoolean();
+
+        /**
+         * The latest number of items added to the report.
+         * */
+        private volatile int done;
+
+        /**
+         * The number of items the report will hold.
+         * */
+        private volatile int total;
+
+        /**
+         * Whether the user pressed Cancel.
+         * */
+        private volatile boolean cancelled;
+
+        /**
+         * Initializes a new MonitorProgress.
+         * @param monitor The progress dialog.
+         */
+        MonitorProgress(ProgressMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void update(int done, int total) {
+            this.done = done;
+            this.total = total;
+            if (pending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    pending.set(false);
+                    if (monitor.isCanceled()) {
+                        cancelled = true;
+                        return;
+                    }
+                    monitor.setMaximum(this.total);
+                    monitor.setProgress(this.done);
+                });
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Listener for creating a new hotel.
+     */
+    class CreateHotelListener implements ActionListener {
+        public void actionPerformed(ActionEvent e) {
+            String hotelName = JOptionPane.showInputDialog("Enter Hotel Name:");
+            if (hotelName == null || hotelName.trim().isEmpty()) {
+                JOptionPane.showMessageDialog(null, "Hotel name cannot be empty.");
+                return;
+            }
+            whenDone(service.createHotel(hotelName), created -> {
+                if (created) {
+                    JOptionPane.showMessageDialog(null, "Hotel " + hotelName + " created successfully.");
+                } else {
+                    JOptionPane.showMessageDialog(null, "Hotel with this name already exists.");
+                }
+            });
+        }
+    }
+
+    /**
+     * Listener for viewing a hotel's details.
+     */
+    class ViewHotelListener implements ActionListener {
+
+        /**
+         * Handles the action of viewing a hotel's details.
+         * @param e The action event.
+         */
+        public void actionPerformed(ActionEvent e) {
+            String hotelName = JOptionPane.showInputDialog("Enter Hotel Name to View:");
+            whenDone(service.findHotel(hotelName), hotel -> {
+                if (hotel == null) {
+                    JOptionPane.showMessageDialog(null, "Hotel not found.");
+                    return;
+                }
+                showHotelDetails(hotel);
+            });
+        }
+
+        /**
+         * Displays the details of a given hotel.
+         * @param hotel The hotel.
+         */
+        private void showHotelDetails(Hotel hotel) {
+            whenDone(service.hotelDetails(hotel), details -> {
+                JOptionPane.showMessageDialog(null, details, "Hotel Details", JOptionPane.INFORMATION_MESSAGE);
+
+                int option = JOptionPane.showConfirmDialog(null, "Do you want to view low-level details?");
+                if (option == JOptionPane.YES_OPTION) {
+                    showLowLevelOptions(hotel);
+                }
+            });
+        }
+
+        /**
+         * Displays low-level options for a given hotel.
+         * @param hotel The hotel to manage.
+         */
+        private void showLowLevelOptions(Hotel hotel) {
+            String[] options = {"View total number of available and booked rooms for a selected date",
+                    "View information about a selected room",
+                    "View information about a selected reservation",
+                    "View availability of all rooms",
+                    "Cancel"};
+            int choice = JOptionPane.showOptionDialog(null, "Select an option:", "Low-Level Details",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+
+            switch (choice) {
+                case 0: // View total number of available and booked rooms for a selected date
+                    int date = Integer.parseInt(JOptionPane.showInputDialog("Enter date (1-" + hotel.getBookingHorizon() + "):"));
+                    showRoomAvailability(hotel, date);
+                    break;
+                case 1: // View information about a selected room
+                    String roomName = JOptionPane.showInputDialog("Enter room name:");
+                    showRoomDetails(hotel, roomName);
+                    break;
+                case 2: // View information about a selected reservation
+                    String guestName = JOptionPane.showInputDialog("Enter guest name:");
+                    showReservationDetails(hotel, guestName);
+                    break;
+                case 3: // View availability of all rooms
+                    new AvailabilityGridView(hotel).setVisible(true);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Displays the availability of rooms in a hotel for a specific date.
+         * @param hotel The hotel to check availability for.
+         * @param date The date to check availability on.
+         */
+        private void showRoomAvailability(Hotel hotel, int date) {
+            whenDone(service.roomAvailability(hotel, date), message ->
+                    JOptionPane.showMessageDialog(null, message, "Room Availability", JOptionPane.INFORMATION_MESSAGE));
+        }
+
+        /**
+         * Displays the details of a specific room in a hotel, and opens the availability grid
+         * of the hotel at that room.
+         * @param hotel The hotel containing the room.
+         * @param roomName The name of the room.
+         */
+        private void showRoomDetails(Hotel hotel, String roomName) {
+            showReport("Room Details", progress -> service.roomDetails(hotel, roomName, progress), () -> {
+                Room room = hotel.doesRoomExist(roomName);
+                if (room != null) {
+                    AvailabilityGridView grid = new AvailabilityGridView(hotel);
+                    grid.setVisible(true);
+                    grid.showRoom(room);
+                }
+            });
+        }
+
+        /**
+         * Displays the details of every reservation a guest holds in a hotel.
+         * @param hotel The hotel containing the reservations.
+         * @param guestName The name of the guest with the reservation.
+         */
+        private void showReservationDetails(Hotel hotel, String guestName) {
+            showReport("Reservation Details", progress -> service.reservationDetails(hotel, guestName, progress));
+        }
+    }
+
+    /**
+     * Listener for managing a hotel's details.
+     */
+    class ManageHotelListener implements ActionListener {
+
+        /**
+         * Handles the action of managing a hotel's details.
+         * @param e The action event.
+         */
+        public void actionPerformed(ActionEvent e) {
+            String hotelName = JOptionPane.showInputDialog("Enter Hotel Name to Manage:");
+            whenDone(service.findHotel(hotelName), hotel -> {
+                if (hotel == null) {
+                    JOptionPane.showMessageDialog(null, "Hotel not found.");
+                    return;
+                }
+                showManageOptions(hotel);
+            });
+        }
+
+        /**
+         * Displays management options for a specified hotel.
+         * @param hotel The hotel to manage.
+         */
+        private void showManageOptions(Hotel hotel) {
+            String[] options = {"Change Hotel Name", "Add Room", "Remove Room", "Update Base Price", "Remove Reservation", "Remove Hotel", "Set Booking Horizon", "Set Date Modifier",
+                    "Add Discount Code", "Retire Discount Code", "Exit"};
+            int choice = JOptionPane.showOptionDialog(null, "Select an option:", "Manage Hotel",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+
+            switch (choice) {
+                case 0:
+                    changeHotelName(hotel);
+                    break;
+                case 1:
+                    addRoom(hotel);
+                    break;
+                case 2:
+                    removeRoom(hotel);
+                    break;
+                case 3:
+                    updateBasePrice(hotel);
+                    break;
+                case 4:
+                    removeReservation(hotel);
+                    break;
+                case 5:
+                    removeHotel(hotel);
+                    break;
+                case 6:
+                    setBookingHorizon(hotel);
+                    break;
+                case 7:
+                    setDateModifier(hotel);
+                    break;
+                case 8:
+                    addDiscountCode(hotel);
+                    break;
+                case 9:
+                    retireDiscountCode(hotel);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Changes the name of a specified hotel.
+         * @param hotel The hotel to rename.
+         */
+        private void changeHotelName(Hotel hotel) {
+            String newName = JOptionPane.showInputDialog("Enter new hotel name:");
+            if (newName == null || newName.trim().isEmpty()) {
+                JOptionPane.showMessageDialog(null, "Hotel name cannot be empty.");
+                return;
+            }
+            whenDone(service.renameHotel(hotel, newName),
+                    done -> JOptionPane.showMessageDialog(null, "Hotel name changed to " + newName));
+        }
+
+        /**
+         * Adds a new room to a specified hotel.
+         * @param hotel The hotel to add a room to.
+         */
+        private void addRoom(Hotel hotel) {
+            String roomName = JOptionPane.showInputDialog("Enter room name:");
+            if (roomName == null || roomName.trim().isEmpty()) {
+                JOptionPane.showMessageDialog(null, "Room name cannot be empty.");
+                return;
+            }
+            List<RoomType> types = RoomTypeRegistry.getTypes();
+            String[] roomTypes = new String[types.size()];
+            for (int i = 0; i < roomTypes.length; i++) {
+                roomTypes[i] = types.get(i).getTypeName();
+            }
+            int roomTypeChoice = JOptionPane.showOptionDialog(null, "Select room type:", "Room Type",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, roomTypes, roomTypes[0]);
+            if (roomTypeChoice < 0) {
+                return;
+            }
+            RoomType roomType = types.get(roomTypeChoice);
+
+            whenDone(service.addRoom(hotel, roomName, roomType),
+                    done -> JOptionPane.showMessageDialog(null, "Room " + roomName + " added as " + roomTypes[roomTypeChoice]));
+        }
+
+        /**
+         * Removes a room from a specified hotel.
+         * @param hotel The hotel to remove a room from.
+         */
+        private void removeRoom(Hotel hotel) {
+            String roomName = JOptionPane.showInputDialog("Enter room name to remove:");
+            whenDone(service.removeRoom(hotel, roomName),
+                    done -> JOptionPane.showMessageDialog(null, "Room " + roomName + " removed."));
+        }
+
+        /**
+         * Updates the base price of a specified hotel.
+         * @param hotel The hotel to update the base price for.
+         */
+        private void updateBasePrice(Hotel hotel) {
+            double newPrice = Double.parseDouble(JOptionPane.showInputDialog("Enter new base price:"));
+            whenDone(service.updateBasePrice(hotel, newPrice), updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(null, "Base price updated to " + newPrice);
+                } else {
+                    JOptionPane.showMessageDialog(null, "Price must be at least " + Hotel.MIN_BASE_PRICE + ".");
+                }
+            });
+        }
+
+        /**
+         * Removes a reservation from a specified hotel.
+         * @param hotel The hotel to remove a reservation from.
+         */
+        private void removeReservation(Hotel hotel) {
+            String guestName = JOptionPane.showInputDialog("Enter guest name to remove reservation:");
+            whenDone(service.removeReservation(hotel, guestName), removed -> {
+                if (removed) {
+                    JOptionPane.showMessageDialog(null, "Reservation for " + guestName + " removed.");
+                } else {
+                    JOptionPane.showMessageDialog(null, "Reservation not found.");
+                }
+            });
+        }
+
+        /**
+         * Sets how many nights ahead a specified hotel can be booked.
+         * @param hotel The hotel to configure.
+         */
+        private void setBookingHorizon(Hotel hotel) {
+            String input = JOptionPane.showInputDialog("Enter booking horizon in nights (up to " + Hotel.MAX_BOOKING_HORIZON + "):",
+                    hotel.getBookingHorizon());
+            if (input == null) {
+                return;
+            }
+            int nights;
+            try {
+                nights = Integer.parseInt(input.trim());
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(null, ex.getMessage());
+                return;
+            }
+            whenDone(service.setBookingHorizon(hotel, nights),
+                    done -> JOptionPane.showMessageDialog(null, "Booking horizon set to " + nights + " nights."));
+        }
+
+        /**
+         * Sets the price multiplier of a range of nights in a specified hotel.
+         * @param hotel The hotel to change.
+         */
+        private void setDateModifier(Hotel hotel) {
+            String fromInput = JOptionPane.showInputDialog("Enter first date (1-" + Hotel.MAX_BOOKING_HORIZON + "):");
+            if (fromInput == null) {
+                return;
+            }
+            String toInput = JOptionPane.showInputDialog("Enter last date (1-" + Hotel.MAX_BOOKING_HORIZON + "):", fromInput);
+            if (toInput == null) {
+                return;
+            }
+            try {
+                int fromDate = Integer.parseInt(fromInput.trim());
+                int toDate = Integer.parseInt(toInput.trim());
+                String modifierInput = JOptionPane.showInputDialog("Enter price multiplier (e.g. 1.2 for 120%):",
+                        hotel.getDateModifier(fromDate));
+                if (modifierInput == null) {
+                    return;
+                }
+                whenDone(service.setDateModifier(hotel, fromDate, toDate, Double.parseDouble(modifierInput.trim())),
+                        done -> JOptionPane.showMessageDialog(null, "Date modifier updated for dates " + fromDate + " to " + toDate + "."));
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(null, ex.getMessage());
+            }
+        }
+
+        /**
+         * Adds a percentage discount code to a specified hotel.
+         * @param hotel The hotel to add the code to.
+         */
+        private void addDiscountCode(Hotel hotel) {
+            String code = JOptionPane.showInputDialog("Enter new discount code:");
+            if (code == null) {
+                return;
+            }
+            String percentInput = JOptionPane.showInputDialog("Enter percent off (e.g. 15 for 15%):");
+            if (percentInput == null) {
+                return;
+            }
+            String nightsInput = JOptionPane.showInputDialog("Enter minimum nights:", 1);
+            if (nightsInput == null) {
+                return;
+            }
+            try {
+                double percentOff = Double.parseDouble(percentInput.trim()) / 100;
+                int minNights = Integer.parseInt(nightsInput.trim());
+                whenDone(service.addDiscountRule(hotel, new DiscountRule(code, 100, true, false, percentOff, 0, minNights)),
+                        done -> JOptionPane.showMessageDialog(null, "Discount code " + code.trim() + " added."));
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(null, ex.getMessage());
+            }
+        }
+
+        /**
+         * Retires a discount code of a specified hotel.
+         * @param hotel The hotel to retire the code from.
+         */
+        private void retireDiscountCode(Hotel hotel) {
+            List<DiscountRule> rules = hotel.getDiscountEngine().getRules();
+            if (rules.isEmpty()) {
+                JOptionPane.showMessageDialog(null, "The hotel has no discount codes.");
+                return;
+            }
+            String[] codes = new String[rules.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = rules.get(i).getCode();
+            }
+            String code = (String) JOptionPane.showInputDialog(null, "Select discount code to retire:", "Retire Discount Code",
+                    JOptionPane.QUESTION_MESSAGE, null, codes, codes[0]);
+            if (code == null) {
+                return;
+            }
+            whenDone(service.retireDiscountCode(hotel, code), retired -> {
+                if (retired) {
+                    JOptionPane.showMessageDialog(null, "Discount code " + code + " retired.");
+                }
+            });
+        }
+
+        /**
+         * Removes a specified hotel from the system.
+         * @param hotel The hotel to remove.
+         */
+        private void removeHotel(Hotel hotel) {
+            int confirmation = JOptionPane.showConfirmDialog(null, "Are you sure you want to remove the hotel?", "Confirm Remove Hotel", JOptionPane.YES_NO_OPTION);
+            if (confirmation == JOptionPane.YES_OPTION) {
+                whenDone(service.removeHotel(hotel),
+                        done -> JOptionPane.showMessageDialog(null, "Hotel removed successfully."));
+            }
+        }
+    }
+
+    /**
+     * Listener for simulating a booking.
+     */
+    class SimulateBookingListener implements ActionListener {
+
+        /**
+         * The maximum number of free rooms offered to choose from.
+         * */
+        private static final int MAX_SUGGESTED_ROOMS = 20;
+
+        /**
+         * Handles the action of simulating a booking in a hotel.
+         * @param e The action event.
+         */
+        public void actionPerformed(ActionEvent e) {
+            String hotelName = JOptionPane.showInputDialog("Enter Hotel Name:");
+            whenDone(service.findHotel(hotelName), hotel -> {
+                if (hotel == null) {
+                    JOptionPane.showMessageDialog(null, "Hotel not found.");
+                    return;
+                }
+                chooseStay(hotel);
+            });
+        }
+
+        /**
+         * Asks for the guest and dates of a stay and offers the rooms free for it.
+         * @param hotel The hotel to book in.
+         */
+        private void chooseStay(Hotel hotel) {
+            String guestName = JOptionPane.showInputDialog("Enter Guest Name:");
+            if (guestName == null) {
+                return;
+            }
+            if (guestName.trim().isEmpty()) {
+                JOptionPane.showMessageDialog(null, BookingStatus.INVALID_GUEST_NAME.getMessage());
+                return;
+            }
+            String checkInInput = JOptionPane.showInputDialog("Enter Check-In Date (1-" + hotel.getBookingHorizon() + "):");
+            if (checkInInput == null) {
+                return;
+            }
+            String checkOutInput = JOptionPane.showInputDialog("Enter Check-Out Date (1-" + hotel.getBookingHorizon() + "):");
+            if (checkOutInput == null) {
+                return;
+            }
+            int checkIn;
+            int checkOut;
+            try {
+                checkIn = Integer.parseInt(checkInInput.trim());
+                checkOut = Integer.parseInt(checkOutInput.trim());
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(null, BookingStatus.INVALID_DATES.getMessage());
+                return;
+            }
+
+            whenDone(service.findAvailableRooms(hotel, checkIn, checkOut, MAX_SUGGESTED_ROOMS), null, "Booking Error",
+                    availableRooms -> chooseRoom(hotel, guestName, checkIn, checkOut, availableRooms));
+        }
+
+        /**
+         * Asks which of the free rooms to book and for a discount code, then books it.
+         * @param hotel The hotel to book in.
+         * @param guestName The name of the guest.
+         * @param checkIn The check-in date.
+         * @param checkOut The check-out date.
+         * @param availableRooms The rooms free for the stay, cheapest first.
+         */
+        private void chooseRoom(Hotel hotel, String guestName, int checkIn, int checkOut, List<Room> availableRooms) {
+            if (availableRooms.isEmpty()) {
+                JOptionPane.showMessageDialog(null, "No rooms are available for the selected dates.", "Booking Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            String[] roomChoices = new String[availableRooms.size()];
+            for (int i = 0; i < roomChoices.length; i++) {
+                Room room = availableRooms.get(i);
+                roomChoices[i] = room.getName() + " (" + room.getType().getTypeName() + ", " + room.getPricePerNight() + " per night)";
+            }
+            Object selected = JOptionPane.showInputDialog(null, "Select a room:", "Available Rooms",
+                    JOptionPane.QUESTION_MESSAGE, null, roomChoices, roomChoices[0]);
+            if (selected == null) {
+                return;
+            }
+            String roomName = null;
+            for (int i = 0; i < roomChoices.length; i++) {
+                if (roomChoices[i].equals(selected)) {
+                    roomName = availableRooms.get(i).getName();
+                }
+            }
+
+            String discountCode = JOptionPane.showInputDialog("Enter Discount Code (if any):");
+
+            whenDone(service.simulateBooking(hotel, roomName, guestName, checkIn, checkOut, discountCode), null, "Booking Error",
+                    result -> {
+                        if (result.isBooked()) {
+                            JOptionPane.showMessageDialog(null, result.getMessage());
+                        } else {
+                            JOptionPane.showMessageDialog(null, result.getMessage(), "Booking Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Listener for importing hotels, rooms and reservations from a CSV file.
+     */
+    class ImportListener implements ActionListener {
+
+        /**
+         * Asks for a CSV file and imports it in the background, then shows what was imported
+         * and which rows were skipped.
+         * @param e The action event.
+         */
+        public void actionPerformed(ActionEvent e) {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(mainView) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            Path file = chooser.getSelectedFile().toPath();
+            showReport("Import", progress -> service.importCsv(file, progress));
+        }
+    }
+
+    /**
+     * Listener for exporting hotels, rooms and reservations to a CSV file.
+     */
+    class ExportListener implements ActionListener {
+
+        /**
+         * Asks where to save the CSV file and exports every hotel to it in the background.
+         * @param e The action event.
+         */
+        public void actionPerformed(ActionEvent e) {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File("hotels.csv"));
+            if (chooser.showSaveDialog(mainView) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            Path file = chooser.getSelectedFile().toPath();
+            showReport("Export", progress -> service.exportCsv(file, progress));
+        }
+    }
+
+    /**
+     * Listener for exiting the application.
+     */
+    class ExitListener implements ActionListener {
+
+        /**
+         * Handles the action of exiting the application.
+         * @param e The action event.
+         */
+        public void actionPerformed(ActionEvent e) {
+            System.exit(0);
+        }
+    }
+}
+
+
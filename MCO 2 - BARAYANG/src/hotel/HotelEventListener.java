@@ -0,0 +1,128 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.util.List;
+
+/**
+ * Interface for observers of the changes made to hotels, such as a journal that makes them
+ * durable. Every method is called after the change has been checked and before it becomes
+ * visible to other threads, and may block until the listener has dealt with it. Changes to
+ * one room or reservation are reported in the order they happen.
+ */
+public interface HotelEventListener {
+
+    /**
+     * A listener that ignores every change.
+     * */
+    HotelEventListener NONE = new HotelEventListener() {
+    };
+
+    /**
+     * Called when a hotel is created.
+     * @param hotel The new hotel.
+     */
+    default void hotelCreated(Hotel hotel) {
+    }
+
+    /**
+     * Called when a hotel is renamed.
+     * @param hotel The hotel being renamed.
+     * @param newName The new name of the hotel.
+     */
+    default void hotelRenamed(Hotel hotel, String newName) {
+    }
+
+    /**
+     * Called when a hotel is removed.
+     * @param hotel The hotel being removed.
+     */
+    default void hotelRemoved(Hotel hotel) {
+    }
+
+    /**
+     * Called when a room is added to a hotel.
+     * @param hotel The hotel.
+     * @param roomName The name of the new room.
+     * @param type The type of the new room.
+     */
+    default void roomAdded(Hotel hotel, String roomName, RoomType type) {
+    }
+
+    /**
+     * Called when a block of rooms is added to a hotel at once.
+     * @param hotel The hotel.
+     * @param roomNames The names of the new rooms.
+     * @param types The types of the new rooms.
+     * @param count The number of rooms in the block, from the start of the arrays.
+     */
+    default void roomsAdded(Hotel hotel, String[] roomNames, RoomType[] types, int count) {
+        for (int i = 0; i < count; i++) {
+            roomAdded(hotel, roomNames[i], types[i]);
+        }
+    }
+
+    /**
+     * Called when a room is removed from a hotel.
+     * @param hotel The hotel.
+     * @param room The room being removed.
+     */
+    default void roomRemoved(Hotel hotel, Room room) {
+    }
+
+    /**
+     * Called when the base price of a hotel changes.
+     * @param hotel The hotel.
+     * @param rate The new rate version.
+     */
+    default void basePriceUpdated(Hotel hotel, RateVersion rate) {
+    }
+
+    /**
+     * Called when the booking horizon of a hotel changes.
+     * @param hotel The hotel.
+     * @param nights The new booking horizon.
+     */
+    default void bookingHorizonChanged(Hotel hotel, int nights) {
+    }
+
+    /**
+     * Called when the price multiplier of a range of nights changes.
+     * @param hotel The hotel.
+     * @param fromDate The first date changed.
+     * @param toDate The last date changed.
+     * @param multiplier The new multiplier.
+     */
+    default void dateModifierChanged(Hotel hotel, int fromDate, int toDate, double multiplier) {
+    }
+
+    /**
+     * Called when a reservation has been booked and given its booking number.
+     * @param hotel The hotel.
+     * @param reservation The new reservation.
+     */
+    default void reservationBooked(Hotel hotel, Reservation reservation) {
+    }
+
+    /**
+     * Called when a batch of reservations has been booked and given booking numbers.
+     * @param hotel The hotel.
+     * @param reservations The new reservations.
+     */
+    default void reservationsBooked(Hotel hotel, List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            reservationBooked(hotel, reservation);
+        }
+    }
+
+    /**
+     * Called when a reservation is cancelled, before its nights are released.
+     * @param hotel The hotel.
+     * @param reservation The cancelled reservation.
+     */
+    default void reservationCancelled(Hotel hotel, Reservation reservation) {
+    }
+}
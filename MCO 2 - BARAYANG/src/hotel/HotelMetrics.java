@@ -0,0 +1,375 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class keeps the counters and latency histograms of the booking, lookup and repricing
+ * hot paths, and publishes them as MXBeans on the platform MBean server so they can be
+ * watched with JConsole, VisualVM or any other JMX client:
+ * <ul>
+ *     <li>{@code hotel:type=HotelSystem} counts bookings by outcome, repricings, hotels and reservations;</li>
+ *     <li>{@code hotel:type=Latency,name=...} holds the latency of bookings, room and hotel lookups and repricings;</li>
+ *     <li>{@code hotel:type=Hotel,id=...} shows the reservations and occupancy of each hotel in the hotel system.</li>
+ * </ul>
+ * Every counter is a striped adder, so recording never locks or allocates. A lookup takes
+ * about as long as reading the clock twice, so only one lookup in {@value #LOOKUP_SAMPLE_RATE},
+ * picked at random, is timed; bookings and repricings are all timed. Metrics can be
+ * turned off with {@code -Dhotel.metrics=false}, which removes the timing calls from the hot
+ * paths altogether.
+ */
+public final class HotelMetrics implements HotelMetricsMXBean {
+
+    /**
+     * The system property that turns metrics on or off.
+     * */
+    public static final String ENABLED_PROPERTY = "hotel.metrics";
+
+    /**
+     * Whether metrics are recorded and published.
+     * */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+
+    /**
+     * One lookup in this many is timed. Must be a power of two.
+     * */
+    public static final int LOOKUP_SAMPLE_RATE = 64;
+
+    /**
+     * The JMX domain the metrics are published under.
+     * */
+    private static final String DOMAIN = "hotel";
+
+    /**
+     * The latency of booking a room, whatever the outcome.
+     * */
+    static final LatencyHistogram BOOKING_LATENCY = new LatencyHistogram();
+
+    /**
+     * The latency of a sample of room lookups by name.
+     * */
+    static final LatencyHistogram ROOM_LOOKUP_LATENCY = new LatencyHistogram();
+
+    /**
+     * The latency of a sample of hotel lookups by name.
+     * */
+    static final LatencyHistogram HOTEL_LOOKUP_LATENCY = new LatencyHistogram();
+
+    /**
+     * The latency of changing a base price or date multiplier.
+     * */
+    static final LatencyHistogram REPRICING_LATENCY = new LatencyHistogram();
+
+    /**
+     * The number of bookings with each outcome, indexed by status ordinal.
+     * */
+    private static final LongAdder[] OUTCOMES = new LongAdder[BookingStatus.values().length];
+
+    static {
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            OUTCOMES[i] = new LongAdder();
+        }
+        if (ENABLED) {
+            publish(new HotelMetrics(), DOMAIN + ":type=HotelSystem");
+            publish(BOOKING_LATENCY, DOMAIN + ":type=Latency,name=Booking");
+            publish(ROOM_LOOKUP_LATENCY, DOMAIN + ":type=Latency,name=RoomLookup");
+            publish(HOTEL_LOOKUP_LATENCY, DOMAIN + ":type=Latency,name=HotelLookup");
+            publish(REPRICING_LATENCY, DOMAIN + ":type=Latency,name=Repricing");
+        }
+    }
+
+    /**
+     * Initializes the HotelMetrics view. Only one is published.
+     */
+    private HotelMetrics() {
+    }
+
+    /**
+     * Reads the clock at the start of a timed call.
+     * @return The current value of System.nanoTime(), or 0 if metrics are off.
+     */
+    static long now() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Reads the clock at the start of a lookup, if the lookup is picked to be timed.
+     * @return The current value of System.nanoTime(), or 0 if the lookup is not timed.
+     */
+    static long startLookup() {
+        if (ENABLED && (ThreadLocalRandom.current().nextInt() & (LOOKUP_SAMPLE_RATE - 1)) == 0) {
+            return System.nanoTime();
+        }
+        return 0;
+    }
+
+    /**
+     * Records the outcome and latency of a booking.
+     * @param status The outcome of the booking.
+     * @param startNanos The value of now() when the booking started.
+     */
+    static void recordBooking(BookingStatus status, long startNanos) {
+        if (ENABLED) {
+            BOOKING_LATENCY.recordSince(startNanos);
+            OUTCOMES[status.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Records the outcome of a booking made as part of a batch, whose latency is not tracked.
+     * @param status The outcome of the booking.
+     */
+    static void recordOutcome(BookingStatus status) {
+        if (ENABLED) {
+            OUTCOMES[status.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Records the latency of a room lookup, if it was timed.
+     * @param startNanos The value of startLookup() when the lookup started.
+     */
+    static void recordRoomLookup(long startNanos) {
+        if (ENABLED && startNanos != 0) {
+            ROOM_LOOKUP_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Records the latency of a hotel lookup, if it was timed.
+     * @param startNanos The value of startLookup() when the lookup started.
+     */
+    static void recordHotelLookup(long startNanos) {
+        if (ENABLED && startNanos != 0) {
+            HOTEL_LOOKUP_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Records the latency of a base price or date multiplier change.
+     * @param startNanos The value of now() when the change started.
+     */
+    static void recordRepricing(long startNanos) {
+        if (ENABLED) {
+            REPRICING_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Publishes the view of a hotel managed by the hotel system.
+     * @param hotel The hotel to publish.
+     */
+    static void register(Hotel hotel) {
+        if (ENABLED) {
+            publish(new HotelStats(hotel), nameOf(hotel));
+        }
+    }
+
+    /**
+     * Withdraws the view of a hotel that has left the hotel system.
+     * @param hotel The hotel to withdraw.
+     */
+    static void unregister(Hotel hotel) {
+        if (ENABLED) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(nameOf(hotel));
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot withdraw " + nameOf(hotel) + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the JMX name of a hotel's view. Hotels are named by identifier, which survives renames.
+     * @param hotel The hotel.
+     * @return The object name of the hotel's view.
+     */
+    private static String nameOf(Hotel hotel) {
+        return DOMAIN + ":type=Hotel,id=" + hotel.getId();
+    }
+
+    /**
+     * Registers an MXBean on the platform MBean server, replacing any bean of the same name.
+     * @param bean The bean to register.
+     * @param name The object name of the bean.
+     * @throws IllegalStateException if the bean cannot be registered.
+     */
+    private static void publish(Object bean, String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(bean, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot publish " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the number of bookings attempted.
+     * @return The number of bookings attempted, whatever their outcome.
+     */
+    @Override
+    public long getBookingAttempts() {
+        long attempts = 0;
+        for (LongAdder outcome : OUTCOMES) {
+            attempts += outcome.sum();
+        }
+        return attempts;
+    }
+
+    /**
+     * Gets the number of bookings that succeeded.
+     * @return The number of bookings with the status BOOKED.
+     */
+    @Override
+    public long getBookingsBooked() {
+        return OUTCOMES[BookingStatus.BOOKED.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of bookings that were rejected.
+     * @return The number of bookings with any status other than BOOKED.
+     */
+    @Override
+    public long getBookingsRejected() {
+        return getBookingAttempts() - getBookingsBooked();
+    }
+
+    /**
+     * Gets the number of bookings with each outcome.
+     * @return The number of bookings keyed by status name.
+     */
+    @Override
+    public Map<String, Long> getBookingOutcomes() {
+        LinkedHashMap<String, Long> outcomes = new LinkedHashMap<>();
+        for (BookingStatus status : BookingStatus.values()) {
+            outcomes.put(status.name(), OUTCOMES[status.ordinal()].sum());
+        }
+        return Collections.unmodifiableMap(outcomes);
+    }
+
+    /**
+     * Gets the number of base price and date multiplier changes.
+     * @return The number of repricings.
+     */
+    @Override
+    public long getRepricings() {
+        return REPRICING_LATENCY.getCount();
+    }
+
+    /**
+     * Gets the number of hotels in the hotel system.
+     * @return The number of hotels.
+     */
+    @Override
+    public int getHotelCount() {
+        return HotelSystem.hotels.size();
+    }
+
+    /**
+     * Gets the number of reservations across all hotels in the hotel system.
+     * @return The number of reservations.
+     */
+    @Override
+    public long getReservationCount() {
+        long count = 0;
+        for (Hotel hotel : HotelSystem.hotels) {
+            count += hotel.getReservationCount();
+        }
+        return count;
+    }
+
+    /**
+     * Clears the booking and repricing counters and every latency histogram.
+     */
+    @Override
+    public void reset() {
+        for (LongAdder outcome : OUTCOMES) {
+            outcome.reset();
+        }
+        BOOKING_LATENCY.reset();
+        ROOM_LOOKUP_LATENCY.reset();
+        HOTEL_LOOKUP_LATENCY.reset();
+        REPRICING_LATENCY.reset();
+    }
+
+    /**
+     * The JMX view of one hotel.
+     */
+    private static final class HotelStats implements HotelStatsMXBean {
+
+        /**
+         * The hotel shown.
+         * */
+        private final Hotel hotel;
+
+        /**
+         * Initializes a new view of a hotel.
+         * @param hotel The hotel shown.
+         */
+        HotelStats(Hotel hotel) {
+            this.hotel = hotel;
+        }
+
+        @Override
+        public String getName() {
+            return hotel.getName();
+        }
+
+        @Override
+        public int getTotalRooms() {
+            return hotel.getTotalRooms();
+        }
+
+        @Override
+        public int getReservationCount() {
+            return hotel.getReservationCount();
+        }
+
+        @Override
+        public double getOccupancy() {
+            return hotel.getOccupancy();
+        }
+
+        @Override
+        public int getBookedRoomsTonight() {
+            int date = hotel.dateOf(LocalDate.now());
+            return date >= 1 && date <= hotel.getBookingHorizon() ? hotel.getBookedRoomCount(date) : 0;
+        }
+
+        @Override
+        public double getBasePrice() {
+            return hotel.getBasePrice();
+        }
+
+        @Override
+        public long getRateVersion() {
+            return hotel.getCurrentRate().getVersion();
+        }
+
+        @Override
+        public double getTotalEarnings() {
+            return hotel.getTotalEarnings();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.util.Map;
+
+/**
+ * Interface for the JMX view of the counters kept across all hotels in the hotel system.
+ * The latencies of the hot paths are published as separate {@link LatencyHistogramMXBean}s.
+ */
+public interface HotelMetricsMXBean {
+
+    /**
+     * Gets the number of bookings attempted.
+     * @return The number of bookings attempted, whatever their outcome.
+     */
+    long getBookingAttempts();
+
+    /**
+     * Gets the number of bookings that succeeded.
+     * @return The number of bookings with the status BOOKED.
+     */
+    long getBookingsBooked();
+
+    /**
+     * Gets the number of bookings that were rejected.
+     * @return The number of bookings with any status other than BOOKED.
+     */
+    long getBookingsRejected();
+
+    /**
+     * Gets the number of bookings with each outcome.
+     * @return The number of bookings keyed by status name.
+     */
+    Map<String, Long> getBookingOutcomes();
+
+    /**
+     * Gets the number of base price and date multiplier changes.
+     * @return The number of repricings.
+     */
+    long getRepricings();
+
+    /**
+     * Gets the number of hotels in the hotel system.
+     * @return The number of hotels.
+     */
+    int getHotelCount();
+
+    /**
+     * Gets the number of reservations across all hotels in the hotel system.
+     * @return The number of reservations.
+     */
+    long getReservationCount();
+
+    /**
+     * Clears the booking and repricing counters and every latency histogram.
+     */
+    void reset();
+}
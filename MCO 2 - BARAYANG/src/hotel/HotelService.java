@@ -0,0 +1,465 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * This class runs hotel system operations on a pool of worker threads, so that the user
+ * interface never waits on the model. Every method returns at once with a CompletableFuture
+ * that completes with the result, or exceptionally with the IllegalArgumentException or
+ * IllegalStateException the model raised. Reports are built as strings on the worker thread;
+ * long ones tell a {@link ReportProgress} how far they have come and stop if it cancels them.
+ * <p>
+ * The service does not know about Swing: callers that update the screen complete their work
+ * on the Event Dispatch Thread themselves, for example with
+ * {@code future.whenCompleteAsync(action, SwingUtilities::invokeLater)}.
+ * <p>
+ * If the service is given the {@link Journal}, it saves a checkpoint whenever the journal asks
+ * for one, in a moment when no operation is running.
+ */
+public class HotelService implements AutoCloseable {
+
+    /**
+     * The number of report items added between progress updates.
+     * */
+    private static final int PROGRESS_STEP = 64;
+
+    /**
+     * The hotel system the service works on.
+     * */
+    private final HotelSystem hotelSystem;
+
+    /**
+     * The worker threads.
+     * */
+    private final ExecutorService executor;
+
+    /**
+     * Operations run under the read lock; a checkpoint takes the write lock, so that it runs
+     * only while no operation is changing the hotels.
+     * */
+    private final ReadWriteLock checkpointGate = new ReentrantReadWriteLock();
+
+    /**
+     * The journal recording the hotel system, or null if changes are not saved.
+     * */
+    private volatile Journal journal;
+
+    /**
+     * Initializes a new HotelService with one worker thread per processor, and at least two.
+     * @param hotelSystem The hotel system the service works on.
+     */
+    public HotelService(HotelSystem hotelSystem) {
+        this(hotelSystem, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Initializes a new HotelService.
+     * @param hotelSystem The hotel system the service works on.
+     * @param threads The number of worker threads.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    public HotelService(HotelSystem hotelSystem, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A hotel service needs at least one thread.");
+        }
+        this.hotelSystem = hotelSystem;
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "hotel-service-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Runs a task on a worker thread.
+     * @param task The task to run.
+     * @param <T> The type of the task's result.
+     * @return A future completed with the task's result.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            checkpointGate.readLock().lock();
+            try {
+                return task.get();
+            } finally {
+                checkpointGate.readLock().unlock();
+                checkpointIfNeeded();
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs a task with no result on a worker thread.
+     * @param task The task to run.
+     * @return A future completed when the task has run.
+     */
+    private CompletableFuture<Void> run(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Sets the journal recording the hotel system, so the service can save its checkpoints.
+     * @param journal The journal, or null if changes are not saved.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Saves a checkpoint if the journal has grown past its checkpoint size, waiting for the
+     * running operations to finish first. A checkpoint that cannot be written is tried again
+     * after the next operation; the journal still holds every change meanwhile.
+     */
+    private void checkpointIfNeeded() {
+        Journal current = journal;
+        if (current == null || !current.needsCheckpoint()) {
+            return;
+        }
+        checkpointGate.writeLock().lock();
+        try {
+            if (current.needsCheckpoint()) {
+                current.checkpoint();
+            }
+        } catch (UncheckedIOException | IllegalStateException e) {
+            // The operation itself succeeded, so its result is not failed by the checkpoint
+        } finally {
+            checkpointGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tells a report's progress listener how far the report has come, and stops the report if
+     * it is no longer wanted. Only every PROGRESS_STEP-th item and the last item are reported.
+     * @param progress The progress listener.
+     * @param done The number of items added so far.
+     * @param total The number of items in the report.
+     * @throws CancellationException if the listener cancelled the report.
+     */
+    private static void advance(ReportProgress progress, int done, int total) {
+        if (done % PROGRESS_STEP == 0 || done == total) {
+            if (progress.isCancelled()) {
+                throw new CancellationException("Report cancelled.");
+            }
+            progress.update(done, total);
+        }
+    }
+
+    /**
+     * Creates a hotel.
+     * @param name The name of the new hotel.
+     * @return A future completed with true if the hotel was created, or false if the name is taken.
+     */
+    public CompletableFuture<Boolean> createHotel(String name) {
+        return submit(() -> hotelSystem.createHotel(name));
+    }
+
+    /**
+     * Looks up a hotel by name.
+     * @param name The name of the hotel.
+     * @return A future completed with the hotel, or with null if there is no such hotel.
+     */
+    public CompletableFuture<Hotel> findHotel(String name) {
+        return submit(() -> hotelSystem.doesHotelExist(name));
+    }
+
+    /**
+     * Builds the overview of a hotel: its rooms, price, reservations, earnings and price history.
+     * @param hotel The hotel.
+     * @return A future completed with the overview.
+     */
+    public CompletableFuture<String> hotelDetails(Hotel hotel) {
+        return submit(() -> {
+            StringBuilder details = new StringBuilder();
+            details.append("Hotel Name: ").append(hotel.getName()).append("\n")
+                    .append("Total Rooms: ").append(hotel.getTotalRooms()).append("\n")
+                    .append("Base Price: ").append(hotel.getBasePrice())
+                    .append(" (rate version ").append(hotel.getCurrentRate().getVersion()).append(")\n")
+                    .append("Total Reservations: ").append(hotel.getReservationCount()).append("\n")
+                    .append("Estimated Earnings for the Month: ").append(hotel.getTotalEarnings()).append("\n");
+            for (Map.Entry<String, Double> entry : hotel.getEarningsByRoomType().entrySet()) {
+                details.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+            details.append("Base Price History:\n");
+            for (RateVersion rate : hotel.getRateHistory()) {
+                details.append("  ").append(rate).append("\n");
+            }
+            return details.toString();
+        });
+    }
+
+    /**
+     * Builds the count of available and booked rooms on a date.
+     * @param hotel The hotel.
+     * @param date The date to check, from 1 to the booking horizon.
+     * @return A future completed with the counts, or exceptionally if the date is outside the horizon.
+     */
+    public CompletableFuture<String> roomAvailability(Hotel hotel, int date) {
+        return submit(() -> "Available Rooms: " + hotel.getAvailableRoomCount(date) + "\n"
+                + "Booked Rooms: " + hotel.getBookedRoomCount(date));
+    }
+
+    /**
+     * Builds the details of a room: its type, price and reservations. Its availability is
+     * shown by an {@link AvailabilityGridView} rather than in the text.
+     * @param hotel The hotel.
+     * @param roomName The name of the room.
+     * @param progress Told how many reservations have been added.
+     * @return A future completed with the details, or exceptionally if the room does not exist
+     *         or the report was cancelled.
+     */
+    public CompletableFuture<String> roomDetails(Hotel hotel, String roomName, ReportProgress progress) {
+        return submit(() -> {
+            Room room = hotel.doesRoomExist(roomName);
+            if (room == null) {
+                throw new IllegalArgumentException("Room not found.");
+            }
+            List<Reservation> reservations = room.getReservations();
+            int total = reservations.size();
+            int done = 0;
+
+            StringBuilder details = new StringBuilder();
+            details.append("Room Name: ").append(room.getName()).append("\n")
+                    .append("Room Type: ").append(room.getType().getTypeName()).append("\n")
+                    .append("Price Per Night: ").append(room.getPricePerNight()).append("\n")
+                    .append("Reservations: ").append(reservations.size()).append("\n");
+            for (Reservation reservation : reservations) {
+                details.append("  ").append(reservation.getGuestName()).append(" (")
+                        .append(reservation.getCheckInDate()).append("-")
+                        .append(reservation.getCheckOutDate()).append(")\n");
+                advance(progress, ++done, total);
+            }
+            return details.toString();
+        });
+    }
+
+    /**
+     * Builds the details of every reservation a guest holds in a hotel.
+     * @param hotel The hotel.
+     * @param guestName The name of the guest.
+     * @param progress Told how many reservations have been added.
+     * @return A future completed with the details, or exceptionally if the guest has no
+     *         reservations or the report was cancelled.
+     */
+    public CompletableFuture<String> reservationDetails(Hotel hotel, String guestName, ReportProgress progress) {
+        return submit(() -> {
+            List<Reservation> guestReservations = hotel.findReservationsByGuestName(guestName);
+            if (guestReservations.isEmpty()) {
+                throw new IllegalArgumentException("Reservation not found.");
+            }
+            int total = guestReservations.size();
+            int done = 0;
+            StringBuilder details = new StringBuilder();
+            for (Reservation reservation : guestReservations) {
+                details.append("Guest Name: ").append(reservation.getGuestName()).append("\n")
+                        .append("Room Name: ").append(reservation.getRoom().getName()).append("\n")
+                        .append("Check-In Date: ").append(reservation.getCheckInDate()).append("\n")
+                        .append("Check-Out Date: ").append(reservation.getCheckOutDate()).append("\n")
+                        .append("Total Price: ").append(reservation.getTotalPrice()).append("\n")
+                        .append("Rate Version: ").append(reservation.getRateVersion().getVersion()).append("\n\n");
+                advance(progress, ++done, total);
+            }
+            return details.toString();
+        });
+    }
+
+    /**
+     * Renames a hotel.
+     * @param hotel The hotel.
+     * @param newName The new name of the hotel.
+     * @return A future completed when the hotel is renamed, or exceptionally if the name is taken.
+     */
+    public CompletableFuture<Void> renameHotel(Hotel hotel, String newName) {
+        return run(() -> hotel.setName(newName));
+    }
+
+    /**
+     * Adds a room to a hotel.
+     * @param hotel The hotel.
+     * @param roomName The name of the new room.
+     * @param type The type of the new room.
+     * @return A future completed when the room is added, or exceptionally if it cannot be.
+     */
+    public CompletableFuture<Void> addRoom(Hotel hotel, String roomName, RoomType type) {
+        return run(() -> hotel.addRoom(roomName, type));
+    }
+
+    /**
+     * Removes a room from a hotel.
+     * @param hotel The hotel.
+     * @param roomName The name of the room.
+     * @return A future completed when the room is removed, or exceptionally if it does not
+     *         exist or has reservations.
+     */
+    public CompletableFuture<Void> removeRoom(Hotel hotel, String roomName) {
+        return run(() -> hotel.removeRoom(roomName));
+    }
+
+    /**
+     * Updates the base price of a hotel.
+     * @param hotel The hotel.
+     * @param newPrice The new base price.
+     * @return A future completed with true if the price was updated, or false if it is below the minimum.
+     */
+    public CompletableFuture<Boolean> updateBasePrice(Hotel hotel, double newPrice) {
+        return submit(() -> hotel.updateBasePrice(newPrice));
+    }
+
+    /**
+     * Cancels a guest's earliest reservation in a hotel.
+     * @param hotel The hotel.
+     * @param guestName The name of the guest.
+     * @return A future completed with true if a reservation was cancelled, or false if the guest has none.
+     */
+    public CompletableFuture<Boolean> removeReservation(Hotel hotel, String guestName) {
+        return submit(() -> hotel.removeReservation(guestName));
+    }
+
+    /**
+     * Removes a hotel from the hotel system.
+     * @param hotel The hotel.
+     * @return A future completed when the hotel is removed, or exceptionally if it still has reservations.
+     */
+    public CompletableFuture<Void> removeHotel(Hotel hotel) {
+        return run(() -> hotel.removeHotel());
+    }
+
+    /**
+     * Sets how far ahead a hotel can be booked.
+     * @param hotel The hotel.
+     * @param nights The new booking horizon.
+     * @return A future completed when the horizon is set, or exceptionally if it is not valid.
+     */
+    public CompletableFuture<Void> setBookingHorizon(Hotel hotel, int nights) {
+        return run(() -> hotel.setBookingHorizon(nights));
+    }
+
+    /**
+     * Sets the price multiplier of a range of nights in a hotel.
+     * @param hotel The hotel.
+     * @param fromDate The first date to change.
+     * @param toDate The last date to change.
+     * @param multiplier The new multiplier.
+     * @return A future completed when the multiplier is set, or exceptionally if it is not valid.
+     */
+    public CompletableFuture<Void> setDateModifier(Hotel hotel, int fromDate, int toDate, double multiplier) {
+        return run(() -> hotel.setDateModifier(fromDate, toDate, multiplier));
+    }
+
+    /**
+     * Adds a discount code to a hotel.
+     * @param hotel The hotel.
+     * @param rule The rule of the new code.
+     * @return A future completed when the code is added, or exceptionally if it already exists.
+     */
+    public CompletableFuture<Void> addDiscountRule(Hotel hotel, DiscountRule rule) {
+        return run(() -> hotel.getDiscountEngine().addRule(rule));
+    }
+
+    /**
+     * Retires a discount code of a hotel.
+     * @param hotel The hotel.
+     * @param code The code to retire.
+     * @return A future completed with true if the code was active, or false otherwise.
+     */
+    public CompletableFuture<Boolean> retireDiscountCode(Hotel hotel, String code) {
+        return submit(() -> hotel.getDiscountEngine().retire(code));
+    }
+
+    /**
+     * Finds rooms that are free for every night of a stay, cheapest first.
+     * @param hotel The hotel.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param limit The maximum number of rooms to return.
+     * @return A future completed with the free rooms, or exceptionally if the dates are not valid.
+     */
+    public CompletableFuture<List<Room>> findAvailableRooms(Hotel hotel, int checkIn, int checkOut, int limit) {
+        return submit(() -> hotel.findAvailableRooms(checkIn, checkOut, null, limit));
+    }
+
+    /**
+     * Books a room for a guest.
+     * @param hotel The hotel.
+     * @param roomName The name of the room.
+     * @param guestName The name of the guest.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param discountCode The discount code to apply.
+     * @return A future completed with the outcome of the booking, or exceptionally if the
+     *         booking could not be recorded.
+     */
+    public CompletableFuture<BookingResult> simulateBooking(Hotel hotel, String roomName, String guestName,
+                                                            int checkIn, int checkOut, String discountCode) {
+        return submit(() -> hotel.simulateBooking(roomName, guestName, checkIn, checkOut, discountCode));
+    }
+
+    /**
+     * Imports hotels, rooms and reservations from a CSV file.
+     * @param file The file to read.
+     * @param progress Told how many kilobytes have been read.
+     * @return A future completed with a summary of the import and the rows it skipped, or
+     *         exceptionally if the file cannot be read or the import was cancelled.
+     * @see CsvTransfer
+     */
+    public CompletableFuture<String> importCsv(Path file, ReportProgress progress) {
+        return submit(() -> {
+            try {
+                return CsvTransfer.importFrom(file, hotelSystem, progress).toString();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read " + file + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Exports every hotel, with its rooms and reservations, to a CSV file.
+     * @param file The file to write, replaced if it exists.
+     * @param progress Told how many rooms and reservations have been written.
+     * @return A future completed with a summary of the export, or exceptionally if the file
+     *         cannot be written or the export was cancelled.
+     * @see CsvTransfer
+     */
+    public CompletableFuture<String> exportCsv(Path file, ReportProgress progress) {
+        return submit(() -> {
+            try {
+                List<Hotel> hotels = new ArrayList<>(hotelSystem.getHotels());
+                long rows = CsvTransfer.export(file, hotels, progress);
+                return "Exported " + hotels.size() + " hotel(s) in " + rows + " row(s) to " + file + ".";
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write " + file + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Stops the worker threads once the operations already submitted have run.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
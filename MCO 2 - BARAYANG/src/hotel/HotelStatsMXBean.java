@@ -0,0 +1,61 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * Interface for the JMX view of one hotel. Every value is read from the hotel's own
+ * counters when it is asked for.
+ */
+public interface HotelStatsMXBean {
+
+    /**
+     * Gets the name of the hotel.
+     * @return The name of the hotel.
+     */
+    String getName();
+
+    /**
+     * Gets the total number of rooms in the hotel.
+     * @return The number of rooms.
+     */
+    int getTotalRooms();
+
+    /**
+     * Gets the number of reservations in the hotel.
+     * @return The number of reservations.
+     */
+    int getReservationCount();
+
+    /**
+     * Gets the share of room-nights booked within the booking horizon.
+     * @return The occupancy between 0 and 1, or 0 if the hotel has no rooms.
+     */
+    double getOccupancy();
+
+    /**
+     * Gets the number of rooms booked for tonight.
+     * @return The number of rooms booked, or 0 if tonight is outside the booking horizon.
+     */
+    int getBookedRoomsTonight();
+
+    /**
+     * Gets the base price of the hotel.
+     * @return The base price.
+     */
+    double getBasePrice();
+
+    /**
+     * Gets the number of the current base price version.
+     * @return The rate version.
+     */
+    long getRateVersion();
+
+    /**
+     * Gets the estimated earnings of the hotel from all current reservations.
+     * @return The total price of all reservations.
+     */
+    double getTotalEarnings();
+}
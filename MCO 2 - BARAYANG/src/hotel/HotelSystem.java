@@ -0,0 +1,413 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class represents a system that manages multiple hotels.
+ */
+public class HotelSystem {
+
+    /**
+     * The list of hotels. Changed only under the HotelSystem class lock; readers on any thread
+     * iterate a snapshot of it.
+     * */
+    public static volatile CopyOnWriteArrayList<Hotel> hotels = new CopyOnWriteArrayList<>();
+
+    /**
+     * The hotels indexed by their normalized name.
+     * */
+    private static ConcurrentHashMap<String, Hotel> hotelIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The identifier given to the most recently created hotel.
+     * */
+    private static long lastHotelId;
+
+    /**
+     * The observer told about every change to the managed hotels.
+     * */
+    private static HotelEventListener listener = HotelEventListener.NONE;
+
+    /**
+     * Calls the RoomType interface.
+     * */
+    private RoomType roomType;
+
+    /**
+     * Initializes a new HotelSystem object with an empty list of hotels.
+     */
+    public HotelSystem() {
+        synchronized (HotelSystem.class) {
+            for (Hotel hotel : hotels) {
+                HotelMetrics.unregister(hotel);
+            }
+            hotels = new CopyOnWriteArrayList<>();
+            hotelIndex = new ConcurrentHashMap<>();
+            lastHotelId = 0;
+            listener = HotelEventListener.NONE;
+        }
+    }
+
+    /**
+     * Sets the observer told about every change to the managed hotels, including hotels
+     * that already exist.
+     * @param newListener The new listener.
+     */
+    static synchronized void setListener(HotelEventListener newListener) {
+        listener = newListener;
+        for (Hotel hotel : hotels) {
+            hotel.setListener(newListener);
+        }
+    }
+
+    /**
+     * Gets the observer told about every change to the managed hotels.
+     * @return The current listener.
+     */
+    static synchronized HotelEventListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Gets the identifier given to the most recently created hotel.
+     * @return The last hotel identifier, or 0 if no hotel has been created.
+     */
+    static synchronized long getLastHotelId() {
+        return lastHotelId;
+    }
+
+    /**
+     * Makes sure new hotels get identifiers after one read back from a snapshot, even if the
+     * hotel it belonged to has since been removed.
+     * @param id The last hotel identifier handed out before the snapshot was taken.
+     */
+    static synchronized void restoreLastHotelId(long id) {
+        lastHotelId = Math.max(lastHotelId, id);
+    }
+
+    /**
+     * Re-creates a hotel read back from a journal, keeping its identifier and calendar.
+     * @param id The identifier of the hotel.
+     * @param name The name of the hotel.
+     * @param firstDay The epoch day of date 1 of the hotel's calendar.
+     * @param openedAt When the hotel's first base price took effect.
+     * @return The restored hotel.
+     * @throws IllegalStateException if a hotel with the same name already exists.
+     */
+    static Hotel restoreHotel(long id, String name, int firstDay, Instant openedAt) {
+        Hotel hotel = new Hotel(name, id, firstDay, openedAt);
+        restoreHotel(hotel);
+        return hotel;
+    }
+
+    /**
+     * Adds a hotel read back from a snapshot, whose rooms and reservations were restored
+     * before any other thread could see it.
+     * @param hotel The restored hotel, keeping its identifier.
+     * @throws IllegalStateException if a hotel with the same name already exists.
+     */
+    static synchronized void restoreHotel(Hotel hotel) {
+        String key = Hotel.normalizeName(hotel.getName());
+        if (hotelIndex.containsKey(key)) {
+            throw new IllegalStateException("Cannot restore hotel " + hotel.getName() + ": the name is taken.");
+        }
+        hotel.setListener(listener);
+        hotels.add(hotel);
+        hotelIndex.put(key, hotel);
+        lastHotelId = Math.max(lastHotelId, hotel.getId());
+        HotelMetrics.register(hotel);
+    }
+
+    /**
+     * Creates a new hotel and adds it to the system if it doesn't already exist. The name is
+     * checked and taken under the class lock, so two callers cannot create the same hotel.
+     * @param name The name of the hotel to create.
+     * @return True if the hotel was created; false if a hotel with this name already exists.
+     */
+    public boolean createHotel(String name) {
+        synchronized (HotelSystem.class) {
+            if (doesHotelExist(name) != null) {
+                return false;
+            }
+            Hotel hotel = new Hotel(name, lastHotelId + 1, (int) LocalDate.now().withDayOfMonth(1).toEpochDay(), Instant.now());
+            hotel.setListener(listener);
+            listener.hotelCreated(hotel);
+            lastHotelId = hotel.getId();
+            hotels.add(hotel);
+            hotelIndex.put(Hotel.normalizeName(name), hotel);
+            HotelMetrics.register(hotel);
+            return true;
+        }
+    }
+
+    /**
+     * Retrieves the list of hotels managed by the system. It is safe to read from any thread:
+     * iterating it sees the hotels as they were when the iteration started.
+     * @return The list of hotels.
+     */
+    public List<Hotel> getHotels() {
+        return hotels;
+    }
+
+    /**
+     * Checks if a hotel with a given name already exists in the system.
+     * @param name The name of the hotel to check.
+     * @return The Hotel object if found; null otherwise.
+     */
+    public Hotel doesHotelExist(String name) {
+        if (name == null) {
+            return null;
+        }
+        long start = HotelMetrics.startLookup();
+        Hotel hotel = hotelIndex.get(Hotel.normalizeName(name));
+        HotelMetrics.recordHotelLookup(start);
+        return hotel;
+    }
+
+    /**
+     * Moves a hotel to its new name in the name index.
+     * @param hotel The hotel being renamed.
+     * @param oldName The current name of the hotel.
+     * @param newName The new name of the hotel.
+     * @throws IllegalArgumentException if another hotel already uses the new name.
+     */
+    static synchronized void renameHotel(Hotel hotel, String oldName, String newName) {
+        String oldKey = Hotel.normalizeName(oldName);
+        String newKey = Hotel.normalizeName(newName);
+        if (hotelIndex.get(oldKey) != hotel) {
+            return; // Not managed by the system
+        }
+        Hotel existing = hotelIndex.get(newKey);
+        if (existing != null && existing != hotel) {
+            throw new IllegalArgumentException("Hotel with this name already exists.");
+        }
+        listener.hotelRenamed(hotel, newName);
+        hotelIndex.remove(oldKey);
+        hotelIndex.put(newKey, hotel);
+    }
+
+    /**
+     * Removes a hotel from the system and from the name index if none of its rooms is booked.
+     * The hotel is first closed to bookings, which checks for reservations and reports the
+     * removal to the listener in one step; it is taken out of the system afterwards. The
+     * class lock is not held while closing, because a hotel being renamed holds its own lock
+     * and then takes the class lock.
+     * @param hotel The hotel to remove.
+     * @return True if the hotel was removed or was already gone; false if it still has reservations.
+     */
+    static boolean removeHotel(Hotel hotel) {
+        if (!hotel.close()) {
+            return false;
+        }
+        synchronized (HotelSystem.class) {
+            if (hotels.remove(hotel)) {
+                String key = Hotel.normalizeName(hotel.getName());
+                if (hotelIndex.get(key) == hotel) {
+                    hotelIndex.remove(key);
+                }
+                HotelMetrics.unregister(hotel);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Views details of a specific hotel including its overall details and low-level information.
+     * @param hotelName The name of the hotel to view.
+     */
+    public void viewHotel(String hotelName) {
+        Hotel hotel = doesHotelExist(hotelName);
+        if (hotel != null) {
+            hotel.viewHotelDetails();
+            hotel.viewLowLevelDetails();
+        } else {
+            System.out.println("Hotel not found.");
+        }
+    }
+
+    /**
+     * Manages a hotel such as renaming, adding/removing rooms, updating prices, etc.
+     * @param hotelName The name of the hotel to manage.
+     * @param scanner Scanner object for user input.
+     */
+    public void manageHotel(String hotelName, Scanner scanner) {
+        Hotel hotel = doesHotelExist(hotelName);
+        if (hotel != null) {
+            boolean managehotel = true;
+            while (managehotel) {
+                System.out.println("---------------------");
+                System.out.println("     Manage Hotel    ");
+                System.out.println("---------------------");
+                System.out.println("1. Change Hotel Name");
+                System.out.println("2. Add Room");
+                System.out.println("3. Remove Room");
+                System.out.println("4. Update Base Price");
+                System.out.println("5. Remove Reservation");
+                System.out.println("6. Remove Hotel");
+                System.out.println("7. Set Booking Horizon");
+                System.out.println("8. Set Date Modifier");
+                System.out.println("9. Add Discount Code");
+                System.out.println("10. Retire Discount Code");
+                System.out.println("11. Exit Manage Hotel");
+                System.out.println("---------------------");
+                System.out.print("Choose an option: ");
+                int choice = scanner.nextInt();
+                scanner.nextLine();
+
+                switch (choice) {
+                    case 1:
+                        System.out.print("Enter new hotel name: ");
+                        String newHotelName = scanner.nextLine();
+                        try {
+                            hotel.setName(newHotelName);
+                            System.out.println("Hotel name changed successfully.");
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
+                        }
+                        break;
+                    case 2:
+                        System.out.println("Choose room type:");
+                        List<RoomType> roomTypes = RoomTypeRegistry.getTypes();
+                        for (int i = 0; i < roomTypes.size(); i++) {
+                            System.out.println((i + 1) + ". " + roomTypes.get(i).getTypeName());
+                        }
+                        System.out.print("Enter your choice: ");
+                        int roomTypeChoice = scanner.nextInt();
+                        scanner.nextLine(); // Consume newline character
+
+                        if (roomTypeChoice < 1 || roomTypeChoice > roomTypes.size()) {
+                            System.out.println("Invalid room type choice.");
+                            continue; // Restart loop
+                        }
+                        RoomType roomType = roomTypes.get(roomTypeChoice - 1);
+                        System.out.print("Enter room name: ");
+                        String roomName = scanner.nextLine();
+                        hotel.addRoom(roomName, roomType);
+                        break;
+                    case 3:
+                        System.out.print("Enter room name: ");
+                        String removeRoomName = scanner.nextLine();
+                        hotel.removeRoom(removeRoomName);
+                        break;
+                    case 4:
+                        System.out.print("Enter new base price: ");
+                        double newPrice = scanner.nextDouble();
+                        if (hotel.updateBasePrice(newPrice)) {
+                            System.out.println("Base price updated successfully!");
+                        } else {
+                            System.out.println("Price must be at least " + Hotel.MIN_BASE_PRICE + ".");
+                        }
+                        break;
+                    case 5:
+                        System.out.print("Enter guest name to remove reservation: ");
+                        String guestName = scanner.nextLine();
+                        if (hotel.removeReservation(guestName)) {
+                            System.out.println("Reservation removed successfully.");
+                        } else {
+                            System.out.println("Reservation not found.");
+                        }
+                        break;
+                    case 6:
+                        if (removeHotel(hotel)) {
+                            System.out.println("Hotel removed successfully.");
+                            managehotel = false;
+                        } else {
+                            System.out.println("Cannot remove Hotel with active reservations.");
+                        }
+                        break;
+
+                    case 7:
+                        System.out.print("Enter booking horizon in nights (up to " + Hotel.MAX_BOOKING_HORIZON + "): ");
+                        int horizon = scanner.nextInt();
+                        scanner.nextLine();
+                        try {
+                            hotel.setBookingHorizon(horizon);
+                            System.out.println("Booking horizon set to " + horizon + " nights.");
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
+                        }
+                        break;
+                    case 8:
+                        System.out.print("Enter first date: ");
+                        int fromDate = scanner.nextInt();
+                        System.out.print("Enter last date: ");
+                        int toDate = scanner.nextInt();
+                        System.out.print("Enter price multiplier (e.g. 1.2 for 120%): ");
+                        double modifier = scanner.nextDouble();
+                        scanner.nextLine();
+                        try {
+                            hotel.setDateModifier(fromDate, toDate, modifier);
+                            System.out.println("Date modifier updated for dates " + fromDate + " to " + toDate + ".");
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
+                        }
+                        break;
+                    case 9:
+                        System.out.print("Enter new discount code: ");
+                        String newCode = scanner.nextLine();
+                        System.out.print("Enter percent off (e.g. 15 for 15%): ");
+                        double percentOff = scanner.nextDouble();
+                        System.out.print("Enter minimum nights: ");
+                        int minNights = scanner.nextInt();
+                        scanner.nextLine();
+                        try {
+                            hotel.getDiscountEngine().addRule(new DiscountRule(newCode, 100, true, false, percentOff / 100, 0, minNights));
+                            System.out.println("Discount code added.");
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
+                        }
+                        break;
+                    case 10:
+                        for (DiscountRule rule : hotel.getDiscountEngine().getRules()) {
+                            System.out.println("  " + rule);
+                        }
+                        System.out.print("Enter discount code to retire: ");
+                        String retiredCode = scanner.nextLine();
+                        if (hotel.getDiscountEngine().retire(retiredCode)) {
+                            System.out.println("Discount code retired.");
+                        } else {
+                            System.out.println("Discount code not found.");
+                        }
+                        break;
+                    case 11:
+                        managehotel = false;
+                        break;
+                    default:
+                        System.out.println("Invalid option. Please try again.");
+                }
+            }
+        } else {
+            System.out.println("Hotel not found.");
+        }
+    }
+
+    /**
+     * Simulates booking for a room in a specific hotel.
+     * @param hotelName The name of the hotel to book in.
+     * @param roomName The name of the room to book.
+     * @param guestName The name of the guest making the reservation.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @param discountCode The discount code to apply.
+     * @return The outcome of the booking.
+     */
+    public BookingResult simulateBooking(String hotelName, String roomName, String guestName, int checkIn, int checkOut, String discountCode) {
+        long start = HotelMetrics.now();
+        Hotel hotel = doesHotelExist(hotelName);
+        if (hotel == null) {
+            HotelMetrics.recordBooking(BookingStatus.HOTEL_NOT_FOUND, start);
+            return BookingResult.rejected(BookingStatus.HOTEL_NOT_FOUND);
+        }
+        return hotel.simulateBooking(roomName, guestName, checkIn, checkOut, discountCode);
+    }
+}
@@ -0,0 +1,883 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class keeps an append-only binary journal of every change made to the managed hotels,
+ * so that they survive a restart. Opening a journal replays it into the hotel system, then
+ * records every later change before it becomes visible.
+ * <p>
+ * Each record is framed by its length and a CRC32 checksum, so a record torn by a crash is
+ * detected and cut off on the next start. Writers do not sync the file themselves: a record
+ * is added to a shared buffer, and a single flusher thread writes and syncs everything that
+ * arrived within the durability window in one go. Each writer then waits until its record
+ * is on disk, so concurrent bookings share the cost of one sync instead of paying for one each.
+ * <p>
+ * A journal can be paired with a {@link Snapshot}. Opening it then loads the snapshot first
+ * and replays only the records written after it, and closing it saves a new snapshot and
+ * empties the journal. So that a long-running program does not replay an ever-growing journal
+ * on its next start, it can also {@link #checkpoint()} whenever {@link #needsCheckpoint()}
+ * says the journal has grown past its checkpoint size. The journal file starts with the generation of the snapshot its records
+ * follow, so a journal already folded into a snapshot is never replayed twice, even if the
+ * program stops between saving the snapshot and emptying the journal.
+ */
+public class Journal implements HotelEventListener, AutoCloseable {
+
+    /**
+     * The system property naming the journal file.
+     * */
+    public static final String FILE_PROPERTY = "hotel.journal";
+
+    /**
+     * The system property setting the durability window in milliseconds.
+     * */
+    public static final String WINDOW_PROPERTY = "hotel.journal.window";
+
+    /**
+     * The system property setting the journal size, in bytes, past which a checkpoint is due.
+     * */
+    public static final String CHECKPOINT_PROPERTY = "hotel.journal.checkpoint";
+
+    /**
+     * The system property naming the snapshot file.
+     * */
+    public static final String SNAPSHOT_PROPERTY = "hotel.snapshot";
+
+    /**
+     * The journal file used when no file is configured.
+     * */
+    public static final String DEFAULT_FILE = "hotel.journal";
+
+    /**
+     * The snapshot file used when none is configured.
+     * */
+    public static final String DEFAULT_SNAPSHOT = "hotel.snapshot";
+
+    /**
+     * The durability window used when none is configured, in milliseconds.
+     * */
+    public static final long DEFAULT_WINDOW_MILLIS = 2;
+
+    /**
+     * The journal size past which a checkpoint is due when none is configured: 64 MiB, about
+     * half a million bookings.
+     * */
+    public static final long DEFAULT_CHECKPOINT_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The first four bytes of a journal file: "HJNL".
+     * */
+    private static final int MAGIC = 0x484A4E4C;
+
+    /**
+     * The version of the journal format written by this class.
+     * */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The size of the file header: magic, version and snapshot generation.
+     * */
+    private static final int FILE_HEADER_BYTES = 16;
+
+    /**
+     * The number of bytes framing each record: its length and its checksum.
+     * */
+    private static final int HEADER_BYTES = 8;
+
+    private static final byte HOTEL_CREATED = 1;
+    private static final byte HOTEL_RENAMED = 2;
+    private static final byte HOTEL_REMOVED = 3;
+    private static final byte ROOM_ADDED = 4;
+    private static final byte ROOM_REMOVED = 5;
+    private static final byte BASE_PRICE_UPDATED = 6;
+    private static final byte BOOKING_HORIZON_CHANGED = 7;
+    private static final byte DATE_MODIFIER_CHANGED = 8;
+    private static final byte RESERVATION_BOOKED = 9;
+    private static final byte RESERVATION_CANCELLED = 10;
+
+    /**
+     * The file the journal is written to.
+     * */
+    private final Path file;
+
+    /**
+     * The snapshot file saved when the journal is closed, or null to keep only the journal.
+     * */
+    private final Path snapshot;
+
+    /**
+     * The generation of the snapshot the journal's records follow.
+     * */
+    private long generation;
+
+    /**
+     * The channel appending to the journal file.
+     * */
+    private final FileChannel channel;
+
+    /**
+     * How long the flusher waits for more records before syncing, in milliseconds.
+     * */
+    private final long windowMillis;
+
+    /**
+     * The journal size past which a checkpoint is due, in bytes, or 0 to checkpoint only on close.
+     * */
+    private final long checkpointBytes;
+
+    /**
+     * The size of the journal file, including records written but not yet synced.
+     * */
+    private volatile long journalBytes;
+
+    /**
+     * Guards the pending buffer and the sequence numbers.
+     * */
+    private final Object lock = new Object();
+
+    /**
+     * The framed records waiting to be written.
+     * */
+    private ByteArrayOutputStream pending;
+
+    /**
+     * The sequence number of the last record appended.
+     * */
+    private long appendedSeq;
+
+    /**
+     * The sequence number of the last record known to be on disk.
+     * */
+    private long durableSeq;
+
+    /**
+     * The error that stopped the flusher, or null while the journal is healthy.
+     * */
+    private IOException failure;
+
+    /**
+     * Whether the journal is closing.
+     * */
+    private boolean closing;
+
+    /**
+     * The thread writing and syncing the pending records.
+     * */
+    private final Thread flusher;
+
+    /**
+     * The number of records replayed when the journal was opened.
+     * */
+    private final long recoveredRecords;
+
+    /**
+     * Initializes a new Journal appending to an open channel.
+     * @param file The journal file.
+     * @param snapshot The snapshot file, or null to keep only the journal.
+     * @param generation The generation of the snapshot the journal's records follow.
+     * @param channel The channel positioned at the end of the valid records.
+     * @param windowMillis The durability window in milliseconds.
+     * @param checkpointBytes The journal size past which a checkpoint is due, or 0 for none.
+     * @param recoveredRecords The number of records replayed.
+     * @throws IOException if the position of the channel cannot be read.
+     */
+    private Journal(Path file, Path snapshot, long generation, FileChannel channel, long windowMillis,
+                    long checkpointBytes, long recoveredRecords) throws IOException {
+        this.file = file;
+        this.snapshot = snapshot;
+        this.generation = generation;
+        this.channel = channel;
+        this.windowMillis = windowMillis;
+        this.checkpointBytes = checkpointBytes;
+        this.journalBytes = channel.position();
+        this.recoveredRecords = recoveredRecords;
+        this.pending = new ByteArrayOutputStream();
+        this.flusher = new Thread(this::flushLoop, "hotel-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Opens the journal and snapshot named by the {@value #FILE_PROPERTY} and
+     * {@value #SNAPSHOT_PROPERTY} system properties, with the durability window given by
+     * {@value #WINDOW_PROPERTY} and the checkpoint size given by {@value #CHECKPOINT_PROPERTY}.
+     * @return The open journal.
+     * @throws IOException if the journal or snapshot cannot be read or opened.
+     */
+    public static Journal openConfigured() throws IOException {
+        Path file = Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+        Path snapshot = Paths.get(System.getProperty(SNAPSHOT_PROPERTY, DEFAULT_SNAPSHOT));
+        long window = Long.getLong(WINDOW_PROPERTY, DEFAULT_WINDOW_MILLIS);
+        long checkpoint = Long.getLong(CHECKPOINT_PROPERTY, DEFAULT_CHECKPOINT_BYTES);
+        return open(file, snapshot, window, checkpoint);
+    }
+
+    /**
+     * Opens a journal without a snapshot. See {@link #open(Path, Path, long)}.
+     * @param file The journal file, created if it does not exist.
+     * @param windowMillis How long writers may wait for others to share a sync, in milliseconds.
+     * @return The open journal.
+     * @throws IOException if the journal cannot be read or opened.
+     * @throws IllegalStateException if a record cannot be applied to the hotel system.
+     */
+    public static Journal open(Path file, long windowMillis) throws IOException {
+        return open(file, null, windowMillis);
+    }
+
+    /**
+     * Opens a journal with the default checkpoint size. See {@link #open(Path, Path, long, long)}.
+     * @param file The journal file, created if it does not exist.
+     * @param snapshot The snapshot file, saved when the journal is closed; null to keep only the journal.
+     * @param windowMillis How long writers may wait for others to share a sync, in milliseconds.
+     * @return The open journal.
+     * @throws IOException if the journal or snapshot cannot be read or opened.
+     * @throws IllegalStateException if the snapshot or a record cannot be applied to the hotel system.
+     */
+    public static Journal open(Path file, Path snapshot, long windowMillis) throws IOException {
+        return open(file, snapshot, windowMillis, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * Opens a journal, loading the snapshot if there is one and replaying the records written
+     * after it into the hotel system, then recording every later change to the managed hotels.
+     * The hotel system should be empty when this is called. A torn record at the end of the
+     * file is cut off.
+     * @param file The journal file, created if it does not exist.
+     * @param snapshot The snapshot file, saved when the journal is closed; null to keep only the journal.
+     * @param windowMillis How long writers may wait for others to share a sync, in milliseconds.
+     * @param checkpointBytes The journal size past which a checkpoint is due, or 0 to checkpoint only on close.
+     * @return The open journal.
+     * @throws IOException if the journal or snapshot cannot be read or opened.
+     * @throws IllegalArgumentException if the window or checkpoint size is negative.
+     * @throws IllegalStateException if the snapshot or a record cannot be applied to the hotel system.
+     */
+    public static Journal open(Path file, Path snapshot, long windowMillis, long checkpointBytes) throws IOException {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Durability window cannot be negative.");
+        } else if (checkpointBytes < 0) {
+            throw new IllegalArgumentException("Checkpoint size cannot be negative.");
+        }
+        long generation = snapshot != null && Files.exists(snapshot) ? Snapshot.load(snapshot) : 0;
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer contents = ByteBuffer.allocate((int) channel.size());
+            while (contents.hasRemaining() && channel.read(contents, contents.position()) >= 0) {
+                // Keep reading until the whole file is loaded
+            }
+            contents.flip();
+
+            long records = 0;
+            long journalGeneration = generation;
+            boolean hasHeader = contents.remaining() >= FILE_HEADER_BYTES && contents.getInt(0) == MAGIC;
+            if (hasHeader) {
+                if (contents.getInt(4) != FORMAT_VERSION) {
+                    throw new IllegalStateException(file + " uses journal format " + contents.getInt(4)
+                            + "; this version reads format " + FORMAT_VERSION + ".");
+                }
+                journalGeneration = contents.getLong(8);
+                contents.position(FILE_HEADER_BYTES);
+            } else if (contents.hasRemaining()) {
+                // A journal written before files had a header follows no snapshot
+                journalGeneration = 0;
+            }
+            if (journalGeneration > generation) {
+                throw new IllegalStateException(file + " follows snapshot generation " + journalGeneration
+                        + ", but the snapshot loaded is generation " + generation + ".");
+            }
+
+            if (journalGeneration == generation && contents.hasRemaining()) {
+                records = replay(contents);
+                if (contents.position() < channel.size()) {
+                    channel.truncate(contents.position());
+                }
+                channel.position(contents.position());
+            } else {
+                // The journal is new or its records are already in the snapshot
+                reset(channel, generation);
+            }
+            Journal journal = new Journal(file, snapshot, generation, channel, windowMillis, checkpointBytes, records);
+            HotelSystem.setListener(journal);
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the journal file.
+     * @return The path of the journal file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the number of records replayed when the journal was opened.
+     * @return The number of recovered records.
+     */
+    public long getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    /**
+     * Gets the snapshot file saved when the journal is closed.
+     * @return The path of the snapshot file, or null if the journal is kept alone.
+     */
+    public Path getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Checks if the journal has grown past its checkpoint size, so the program should call
+     * {@link #checkpoint()} the next time nothing is changing the hotels.
+     * @return True if a checkpoint is due; false if not, or if the journal has no snapshot.
+     */
+    public boolean needsCheckpoint() {
+        return snapshot != null && checkpointBytes > 0 && journalBytes >= checkpointBytes;
+    }
+
+    /**
+     * Saves the hotel system to the snapshot and empties the journal, so the next start loads
+     * the snapshot and replays nothing written before now. Every pending record is written
+     * first, and changes that arrive while the checkpoint runs wait for it. As with closing,
+     * nothing should be part way through changing the hotels when this is called, because a
+     * change is recorded before it becomes visible and could otherwise miss the snapshot.
+     * @throws IllegalStateException if the journal has no snapshot, is closed or has failed.
+     * @throws UncheckedIOException if the snapshot cannot be written; the journal is kept as it was.
+     */
+    public void checkpoint() {
+        if (snapshot == null) {
+            throw new IllegalStateException("The journal has no snapshot to checkpoint to.");
+        }
+        synchronized (lock) {
+            while (durableSeq < appendedSeq && failure == null) {
+                waitQuietly(0);
+            }
+            if (failure != null) {
+                throw new IllegalStateException("The journal cannot be written: " + failure.getMessage(), failure);
+            } else if (closing) {
+                throw new IllegalStateException("The journal is closed.");
+            }
+            try {
+                Snapshot.write(snapshot, generation + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot save the checkpoint.", e);
+            }
+            generation++;
+            try {
+                reset(channel, generation);
+                journalBytes = FILE_HEADER_BYTES;
+            } catch (IOException e) {
+                // The snapshot already holds every change, but the journal file is now unusable
+                failure = e;
+                lock.notifyAll();
+                throw new UncheckedIOException("Cannot empty the journal after a checkpoint.", e);
+            }
+        }
+    }
+
+    /**
+     * Stops recording changes, writes every pending record and closes the file. If the journal
+     * is paired with a snapshot, the hotel system is saved to it and the journal is emptied.
+     * Nothing should change the hotels while the journal is closing.
+     */
+    @Override
+    public void close() {
+        synchronized (HotelSystem.class) {
+            if (HotelSystem.getListener() == this) {
+                HotelSystem.setListener(HotelEventListener.NONE);
+            }
+        }
+        synchronized (lock) {
+            closing = true;
+            lock.notifyAll();
+        }
+        try (FileChannel file = channel) { // Closed even if the checkpoint fails
+            flusher.join();
+            if (snapshot != null) {
+                Snapshot.write(snapshot, generation + 1);
+                generation++;
+                reset(file, generation);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the journal.", e);
+        }
+    }
+
+    /**
+     * Empties a journal file, leaving only the header naming the snapshot generation it follows.
+     * @param channel The channel of the journal file.
+     * @param generation The generation of the snapshot the journal follows.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void reset(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation).flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void hotelCreated(Hotel hotel) {
+        Record record = new Record(HOTEL_CREATED, hotel);
+        record.writeUTF(hotel.getName());
+        record.writeInt((int) hotel.getCalendarStart().toEpochDay());
+        record.writeInstant(hotel.getCurrentRate().getEffectiveFrom());
+        append(record);
+    }
+
+    @Override
+    public void hotelRenamed(Hotel hotel, String newName) {
+        Record record = new Record(HOTEL_RENAMED, hotel);
+        record.writeUTF(newName);
+        append(record);
+    }
+
+    @Override
+    public void hotelRemoved(Hotel hotel) {
+        append(new Record(HOTEL_REMOVED, hotel));
+    }
+
+    @Override
+    public void roomAdded(Hotel hotel, String roomName, RoomType type) {
+        append(roomRecord(hotel, roomName, type));
+    }
+
+    @Override
+    public void roomsAdded(Hotel hotel, String[] roomNames, RoomType[] types, int count) {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            byte[] framed = roomRecord(hotel, roomNames[i], types[i]).frame();
+            batch.write(framed, 0, framed.length);
+        }
+        awaitDurable(appendFramed(batch.toByteArray()));
+    }
+
+    @Override
+    public void roomRemoved(Hotel hotel, Room room) {
+        Record record = new Record(ROOM_REMOVED, hotel);
+        record.writeUTF(room.getName());
+        append(record);
+    }
+
+    @Override
+    public void basePriceUpdated(Hotel hotel, RateVersion rate) {
+        Record record = new Record(BASE_PRICE_UPDATED, hotel);
+        record.writeDouble(rate.getBasePrice());
+        record.writeInstant(rate.getEffectiveFrom());
+        append(record);
+    }
+
+    @Override
+    public void bookingHorizonChanged(Hotel hotel, int nights) {
+        Record record = new Record(BOOKING_HORIZON_CHANGED, hotel);
+        record.writeInt(nights);
+        append(record);
+    }
+
+    @Override
+    public void dateModifierChanged(Hotel hotel, int fromDate, int toDate, double multiplier) {
+        Record record = new Record(DATE_MODIFIER_CHANGED, hotel);
+        record.writeInt(fromDate);
+        record.writeInt(toDate);
+        record.writeDouble(multiplier);
+        append(record);
+    }
+
+    @Override
+    public void reservationBooked(Hotel hotel, Reservation reservation) {
+        awaitDurable(appendFramed(bookingRecord(hotel, reservation).frame()));
+    }
+
+    @Override
+    public void reservationsBooked(Hotel hotel, List<Reservation> reservations) {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        for (Reservation reservation : reservations) {
+            byte[] framed = bookingRecord(hotel, reservation).frame();
+            batch.write(framed, 0, framed.length);
+        }
+        awaitDurable(appendFramed(batch.toByteArray()));
+    }
+
+    @Override
+    public void reservationCancelled(Hotel hotel, Reservation reservation) {
+        Record record = new Record(RESERVATION_CANCELLED, hotel);
+        record.writeLong(reservation.getBookingNumber());
+        append(record);
+    }
+
+    /**
+     * Builds the record of an added room.
+     * @param hotel The hotel.
+     * @param roomName The name of the room.
+     * @param type The type of the room.
+     * @return The record.
+     */
+    private static Record roomRecord(Hotel hotel, String roomName, RoomType type) {
+        Record record = new Record(ROOM_ADDED, hotel);
+        record.writeUTF(roomName);
+        record.writeUTF(type.getTypeName());
+        return record;
+    }
+
+    /**
+     * Builds the record of a booked reservation.
+     * @param hotel The hotel.
+     * @param reservation The reservation.
+     * @return The record.
+     */
+    private static Record bookingRecord(Hotel hotel, Reservation reservation) {
+        Record record = new Record(RESERVATION_BOOKED, hotel);
+        record.writeLong(reservation.getBookingNumber());
+        record.writeUTF(reservation.getRoom().getName());
+        record.writeUTF(reservation.getGuestName());
+        record.writeInt(reservation.getCheckInDate());
+        record.writeInt(reservation.getCheckOutDate());
+        record.writeDouble(reservation.getTotalPrice());
+        record.writeUTF(reservation.getDiscountCode());
+        record.writeLong(reservation.getRateVersion().getVersion());
+        return record;
+    }
+
+    /**
+     * Appends a record and waits until it is on disk.
+     * @param record The record to append.
+     */
+    private void append(Record record) {
+        awaitDurable(appendFramed(record.frame()));
+    }
+
+    /**
+     * Adds framed records to the pending buffer and wakes the flusher.
+     * @param framed The framed records.
+     * @return The sequence number to wait for.
+     * @throws IllegalStateException if the journal is closed or has failed.
+     */
+    private long appendFramed(byte[] framed) {
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IllegalStateException("The journal cannot be written: " + failure.getMessage(), failure);
+            } else if (closing) {
+                throw new IllegalStateException("The journal is closed.");
+            }
+            pending.write(framed, 0, framed.length);
+            lock.notifyAll();
+            return ++appendedSeq;
+        }
+    }
+
+    /**
+     * Waits until a record is on disk.
+     * @param seq The sequence number of the record.
+     * @throws IllegalStateException if the journal fails before the record is written.
+     */
+    private void awaitDurable(long seq) {
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (durableSeq < seq && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (durableSeq < seq) {
+                throw new IllegalStateException("The journal cannot be written: " + failure.getMessage(), failure);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes and syncs pending records until the journal is closed. After the first record of a
+     * group arrives, the flusher waits out the durability window so later writers join the group.
+     */
+    private void flushLoop() {
+        while (true) {
+            byte[] group;
+            long groupSeq;
+            synchronized (lock) {
+                while (appendedSeq == durableSeq && !closing) {
+                    waitQuietly(0);
+                }
+                if (appendedSeq == durableSeq) {
+                    return;
+                }
+                long deadline = System.currentTimeMillis() + windowMillis;
+                for (long left = windowMillis; left > 0 && !closing; left = deadline - System.currentTimeMillis()) {
+                    waitQuietly(left);
+                }
+                group = pending.toByteArray();
+                groupSeq = appendedSeq;
+                pending.reset();
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(group);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                journalBytes += group.length;
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+            synchronized (lock) {
+                durableSeq = groupSeq;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits on the lock, ignoring interrupts. The caller must hold the lock.
+     * @param millis The longest time to wait, or 0 to wait until notified.
+     */
+    private void waitQuietly(long millis) {
+        try {
+            lock.wait(millis);
+        } catch (InterruptedException e) {
+            // The flusher only stops when the journal is closed
+        }
+    }
+
+    /**
+     * Replays every complete record of a journal into the hotel system.
+     * @param contents The journal contents; its position is left after the last complete record.
+     * @return The number of records replayed.
+     * @throws IllegalStateException if a record cannot be applied.
+     */
+    private static long replay(ByteBuffer contents) {
+        HashMap<Long, Hotel> hotelsById = new HashMap<>();
+        for (Hotel hotel : HotelSystem.hotels) {
+            hotelsById.put(hotel.getId(), hotel);
+        }
+        CRC32 crc = new CRC32();
+        long records = 0;
+        while (contents.remaining() >= HEADER_BYTES) {
+            int start = contents.position();
+            int length = contents.getInt();
+            int checksum = contents.getInt();
+            if (length <= 0 || length > contents.remaining()) {
+                contents.position(start);
+                break;
+            }
+            byte[] body = new byte[length];
+            contents.get(body);
+            crc.reset();
+            crc.update(body, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                contents.position(start);
+                break;
+            }
+            try {
+                apply(new DataInputStream(new ByteArrayInputStream(body)), hotelsById);
+            } catch (IOException e) {
+                throw new IllegalStateException("Journal record " + (records + 1) + " is malformed.", e);
+            }
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Applies one journal record to the hotel system.
+     * @param in The body of the record.
+     * @param hotelsById The restored hotels keyed by identifier.
+     * @throws IOException if the record is shorter than its type requires.
+     * @throws IllegalStateException if the record cannot be applied.
+     */
+    private static void apply(DataInputStream in, HashMap<Long, Hotel> hotelsById) throws IOException {
+        byte type = in.readByte();
+        long hotelId = in.readLong();
+        if (type == HOTEL_CREATED) {
+            String name = in.readUTF();
+            int firstDay = in.readInt();
+            Instant openedAt = readInstant(in);
+            hotelsById.put(hotelId, HotelSystem.restoreHotel(hotelId, name, firstDay, openedAt));
+            return;
+        }
+        Hotel hotel = hotelsById.get(hotelId);
+        if (hotel == null) {
+            throw new IllegalStateException("Journal refers to unknown hotel " + hotelId + ".");
+        }
+        switch (type) {
+            case HOTEL_RENAMED:
+                hotel.setName(in.readUTF());
+                break;
+            case HOTEL_REMOVED:
+                if (!HotelSystem.removeHotel(hotel)) {
+                    throw new IllegalStateException("Journal removes hotel " + hotelId + " while it still has reservations.");
+                }
+                hotelsById.remove(hotelId);
+                break;
+            case ROOM_ADDED:
+                String roomName = in.readUTF();
+                String typeName = in.readUTF();
+                RoomType roomType = RoomTypeRegistry.find(typeName);
+                if (roomType == null) {
+                    throw new IllegalStateException("Journal refers to unregistered room type " + typeName + ".");
+                }
+                hotel.addRoom(roomName, roomType);
+                break;
+            case ROOM_REMOVED:
+                hotel.removeRoom(in.readUTF());
+                break;
+            case BASE_PRICE_UPDATED:
+                double basePrice = in.readDouble();
+                hotel.restoreBasePrice(basePrice, readInstant(in));
+                break;
+            case BOOKING_HORIZON_CHANGED:
+                hotel.setBookingHorizon(in.readInt());
+                break;
+            case DATE_MODIFIER_CHANGED:
+                int fromDate = in.readInt();
+                int toDate = in.readInt();
+                hotel.setDateModifier(fromDate, toDate, in.readDouble());
+                break;
+            case RESERVATION_BOOKED:
+                long bookingNumber = in.readLong();
+                String bookedRoom = in.readUTF();
+                String guestName = in.readUTF();
+                int checkIn = in.readInt();
+                int checkOut = in.readInt();
+                double totalPrice = in.readDouble();
+                String discountCode = in.readUTF();
+                long rateVersion = in.readLong();
+                hotel.restoreReservation(bookingNumber, bookedRoom, guestName, checkIn, checkOut, totalPrice, discountCode, rateVersion);
+                break;
+            case RESERVATION_CANCELLED:
+                Reservation reservation = hotel.findReservationByBookingNumber(in.readLong());
+                if (reservation == null) {
+                    throw new IllegalStateException("Journal cancels an unknown booking in hotel " + hotel.getName() + ".");
+                }
+                hotel.removeReservation(reservation);
+                break;
+            default:
+                throw new IllegalStateException("Journal record has unknown type " + type + ".");
+        }
+    }
+
+    /**
+     * Reads an instant written by {@link Record#writeInstant(Instant)}.
+     * @param in The body of the record.
+     * @return The instant.
+     * @throws IOException if the record is too short.
+     */
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        return Instant.ofEpochSecond(seconds, in.readInt());
+    }
+
+    /**
+     * A journal record being built: a type, the hotel it concerns and its fields.
+     */
+    private static final class Record {
+
+        /**
+         * The body of the record.
+         * */
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+
+        /**
+         * Writes fields into the body.
+         * */
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        /**
+         * Starts a record.
+         * @param type The type of the record.
+         * @param hotel The hotel the record concerns.
+         */
+        Record(byte type, Hotel hotel) {
+            try {
+                out.writeByte(type);
+                out.writeLong(hotel.getId());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeLong(long value) {
+            try {
+                out.writeLong(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeDouble(double value) {
+            try {
+                out.writeDouble(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeUTF(String value) {
+            try {
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeInstant(Instant value) {
+            writeLong(value.getEpochSecond());
+            writeInt(value.getNano());
+        }
+
+        /**
+         * Frames the record with its length and checksum.
+         * @return The framed record.
+         */
+        byte[] frame() {
+            byte[] body = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(body, 0, body.length);
+            ByteBuffer framed = ByteBuffer.allocate(HEADER_BYTES + body.length);
+            framed.putInt(body.length).putInt((int) crc.getValue()).put(body);
+            return framed.array();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records call latencies into a fixed set of buckets. Each power of two is split
+ * into eight buckets, so a bucket is never more than 12.5% wide, and every bucket is a striped
+ * counter. Recording a latency is a few shifts and two adder increments: it never allocates
+ * or locks, and threads recording at the same time do not contend on one counter.
+ * <p>
+ * Reading a percentile walks the buckets and reports the upper bound of the bucket it falls
+ * in. Reads and resets are not atomic with respect to calls being recorded at the same time,
+ * which is fine for monitoring.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+
+    /**
+     * The number of bits of each value that select its bucket within a power of two.
+     * */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The number of buckets each power of two is split into.
+     * */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The largest latency that can be told apart from longer ones, about 18 minutes.
+     * */
+    private static final long MAX_TRACKED_NANOS = (1L << 40) - 1;
+
+    /**
+     * The number of buckets.
+     * */
+    private static final int BUCKETS = bucketOf(MAX_TRACKED_NANOS) + 1;
+
+    /**
+     * The number of calls recorded in each bucket.
+     * */
+    private final LongAdder[] buckets;
+
+    /**
+     * The sum of all recorded latencies.
+     * */
+    private final LongAdder totalNanos;
+
+    /**
+     * The longest recorded latency.
+     * */
+    private final LongAccumulator maxNanos;
+
+    /**
+     * Initializes a new, empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        this.buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records the latency of one call.
+     * @param nanos The latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKED_NANOS);
+        buckets[bucketOf(value)].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Records the latency of a call that started at a given time.
+     * @param startNanos The value of System.nanoTime() when the call started.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the bucket a latency is counted in.
+     * @param value The latency, between 0 and MAX_TRACKED_NANOS.
+     * @return The index of the bucket.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Gets the largest latency counted in a bucket.
+     * @param bucket The index of the bucket.
+     * @return The upper bound of the bucket in nanoseconds.
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Gets a percentile of the recorded latencies.
+     * @param percentile The percentile to read, between 0 and 100.
+     * @return The upper bound of the bucket the percentile falls in, in nanoseconds, or 0 if
+     *         nothing was recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the number of recorded calls.
+     * @return The number of calls recorded since the last reset.
+     */
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the mean latency of the recorded calls.
+     * @return The mean latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    @Override
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Gets the median latency of the recorded calls.
+     * @return The 50th percentile in nanoseconds.
+     */
+    @Override
+    public long getP50Nanos() {
+        return getPercentileNanos(50);
+    }
+
+    /**
+     * Gets the 90th percentile latency of the recorded calls.
+     * @return The 90th percentile in nanoseconds.
+     */
+    @Override
+    public long getP90Nanos() {
+        return getPercentileNanos(90);
+    }
+
+    /**
+     * Gets the 99th percentile latency of the recorded calls.
+     * @return The 99th percentile in nanoseconds.
+     */
+    @Override
+    public long getP99Nanos() {
+        return getPercentileNanos(99);
+    }
+
+    /**
+     * Gets the 99.9th percentile latency of the recorded calls.
+     * @return The 99.9th percentile in nanoseconds.
+     */
+    @Override
+    public long getP999Nanos() {
+        return getPercentileNanos(99.9);
+    }
+
+    /**
+     * Gets the longest recorded latency.
+     * @return The largest latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Clears the histogram.
+     */
+    @Override
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
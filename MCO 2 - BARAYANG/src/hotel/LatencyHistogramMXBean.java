@@ -0,0 +1,60 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * Interface for the JMX view of a latency histogram. Percentiles are read from the
+ * histogram's buckets, so they are accurate to within one bucket, about 12.5%.
+ */
+public interface LatencyHistogramMXBean {
+
+    /**
+     * Gets the number of recorded calls.
+     * @return The number of calls recorded since the last reset.
+     */
+    long getCount();
+
+    /**
+     * Gets the mean latency of the recorded calls.
+     * @return The mean latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    double getMeanNanos();
+
+    /**
+     * Gets the median latency of the recorded calls.
+     * @return The 50th percentile in nanoseconds.
+     */
+    long getP50Nanos();
+
+    /**
+     * Gets the 90th percentile latency of the recorded calls.
+     * @return The 90th percentile in nanoseconds.
+     */
+    long getP90Nanos();
+
+    /**
+     * Gets the 99th percentile latency of the recorded calls.
+     * @return The 99th percentile in nanoseconds.
+     */
+    long getP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile latency of the recorded calls.
+     * @return The 99.9th percentile in nanoseconds.
+     */
+    long getP999Nanos();
+
+    /**
+     * Gets the longest recorded latency.
+     * @return The largest latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    long getMaxNanos();
+
+    /**
+     * Clears the histogram.
+     */
+    void reset();
+}
@@ -0,0 +1,150 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Scanner;
+
+public class Main {
+    public static void main(String[] args) {
+        HotelSystem hotelSystem = new HotelSystem();
+        Journal journal = null;
+        try {
+            journal = Journal.openConfigured();
+            System.out.println("Recovered " + journal.getRecoveredRecords() + " change(s) from " + journal.getFile() + ".");
+        } catch (IOException | IllegalStateException e) {
+            System.out.println("Changes will not be saved: " + e.getMessage());
+        }
+        Scanner scanner = new Scanner(System.in);
+        boolean isRunning = true;
+
+        try {
+            while (isRunning) {
+                System.out.println("----------------------------");
+                System.out.println("  Hotel Reservation System  ");
+                System.out.println("----------------------------");
+                System.out.println("1. Create Hotel");
+                System.out.println("2. View Hotel");
+                System.out.println("3. Manage Hotel");
+                System.out.println("4. Simulate Booking");
+                System.out.println("5. Import CSV");
+                System.out.println("6. Export CSV");
+                System.out.println("7. Exit");
+                System.out.println("----------------------------");
+                System.out.print("Choose an option: ");
+                int choice = scanner.nextInt();
+                scanner.nextLine();
+
+                switch (choice) {
+                    case 1:
+                        System.out.print("Enter hotel name: ");
+                        String hotelName = scanner.nextLine();
+                        if (!hotelSystem.createHotel(hotelName)) {
+                            System.out.println("Hotel with this name already exists.");
+                        }
+                        break;
+                    case 2:
+                        System.out.print("Enter hotel name: ");
+                        String viewName = scanner.nextLine();
+                        hotelSystem.viewHotel(viewName);
+                        break;
+                    case 3:
+                        System.out.print("Enter hotel name: ");
+                        String manageName = scanner.nextLine();
+                        hotelSystem.manageHotel(manageName, scanner);
+                        break;
+                    case 4:
+                        System.out.print("Enter hotel name: ");
+                        String bookingName = scanner.nextLine();
+                        Hotel hotel = hotelSystem.doesHotelExist(bookingName);
+                        if (hotel == null){
+                            System.out.println("Hotel does not exist.");
+                            break;
+                        }
+                        System.out.print("Enter guest name: ");
+                        String guestName = scanner.nextLine();
+                        System.out.print("Enter check-in date (1-" + hotel.getBookingHorizon() + "): ");
+                        int checkIn = scanner.nextInt();
+                        System.out.print("Enter check-out date (1-" + hotel.getBookingHorizon() + "): ");
+                        int checkOut = scanner.nextInt();
+                        scanner.nextLine();
+                        List<Room> availableRooms;
+                        try {
+                            availableRooms = hotel.findAvailableRooms(checkIn, checkOut, null, 10);
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage());
+                            break;
+                        }
+                        if (availableRooms.isEmpty()) {
+                            System.out.println("No rooms are available for the selected dates.");
+                            break;
+                        }
+                        System.out.println("Available rooms (cheapest first):");
+                        for (Room room : availableRooms) {
+                            System.out.println("  " + room.getName() + " (" + room.getType().getTypeName() + ", " + room.getPricePerNight() + " per night)");
+                        }
+                        System.out.print("Enter room name: ");
+                        String roomName = scanner.nextLine();
+                        Room room = hotel.doesRoomExist(roomName);
+                        if (room == null){
+                            System.out.println("Room does not exist. ");
+                            break;
+                        }
+                        System.out.print("Enter discount code (if any): ");
+                        String discountCode = scanner.next();
+                        try {
+                            BookingResult result = hotelSystem.simulateBooking(bookingName, roomName, guestName, checkIn, checkOut, discountCode);
+                            System.out.println(result.getMessage());
+                        } catch (IllegalStateException e) {
+                            System.out.println(e.getMessage());
+                        }
+                        break;
+                    case 5:
+                        System.out.print("Enter file to import: ");
+                        String importFile = scanner.nextLine();
+                        try {
+                            System.out.print(CsvTransfer.importFrom(Paths.get(importFile), hotelSystem, ReportProgress.NONE));
+                        } catch (IOException | InvalidPathException e) {
+                            System.out.println("Cannot read " + importFile + ": " + e.getMessage());
+                        }
+                        break;
+                    case 6:
+                        System.out.print("Enter file to export to: ");
+                        String exportFile = scanner.nextLine();
+                        try {
+                            long rows = CsvTransfer.export(Paths.get(exportFile), hotelSystem.getHotels(), ReportProgress.NONE);
+                            System.out.println("Exported " + rows + " row(s) to " + exportFile + ".");
+                        } catch (IOException | InvalidPathException e) {
+                            System.out.println("Cannot write " + exportFile + ": " + e.getMessage());
+                        }
+                        break;
+                    case 7:
+                        System.out.println("Exiting...");
+                        scanner.close();
+                        isRunning = false;
+                        break;
+                    default:
+                        System.out.println("Invalid option. Please try again.");
+                }
+                if (isRunning && journal != null && journal.needsCheckpoint()) {
+                    try {
+                        journal.checkpoint(); // No change is in flight between commands
+                    } catch (UncheckedIOException e) {
+                        System.out.println("Could not save a checkpoint: " + e.getCause().getMessage());
+                    }
+                }
+            }
+        } finally {
+            if (journal != null) {
+                journal.close(); // Also on end of input or an unexpected error
+            }
+        }
+    }
+}
\ No newline at end of file
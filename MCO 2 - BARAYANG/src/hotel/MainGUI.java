@@ -0,0 +1,25 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ */
+
+package hotel;
+
+import javax.swing.JOptionPane;
+import java.io.IOException;
+
+public class MainGUI {
+    public static void main(String[] args) {
+        // Initialize the View and Controller
+        MainView mainView = new MainView();
+        HotelController hotelController = new HotelController(mainView);
+        try {
+            Journal journal = Journal.openConfigured();
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+            hotelController.setJournal(journal);
+        } catch (IOException | IllegalStateException e) {
+            JOptionPane.showMessageDialog(mainView, "Changes will not be saved: " + e.getMessage(), "Journal", JOptionPane.WARNING_MESSAGE);
+        }
+        mainView.setVisible(true);
+    }
+}
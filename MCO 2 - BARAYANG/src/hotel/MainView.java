@@ -3,6 +3,8 @@
  * Section: S14
  * */
 
+package hotel;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
@@ -32,6 +34,16 @@ public class MainView extends JFrame {
      * */
     private JButton simulateBookingButton;
 
+    /**
+     * JButton for Import CSV option.
+     * */
+    private JButton importButton;
+
+    /**
+     * JButton for Export CSV option.
+     * */
+    private JButton exportButton;
+
     /**
      * JButton for Exit option.
      * */
@@ -45,13 +57,15 @@ public class MainView extends JFrame {
         setTitle("Hotel Management");
         setSize(400, 300);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setLayout(new GridLayout(6, 1));
+        setLayout(new GridLayout(8, 1));
 
         // Initialize options
         createHotelButton = new JButton("Create Hotel");
         viewHotelButton = new JButton("View Hotel");
         manageHotelButton = new JButton("Manage Hotel");
         simulateBookingButton = new JButton("Simulate Booking");
+        importButton = new JButton("Import CSV");
+        exportButton = new JButton("Export CSV");
         exitButton = new JButton("Exit");
 
         // Add options to the frame
@@ -60,6 +74,8 @@ public class MainView extends JFrame {
         add(viewHotelButton);
         add(manageHotelButton);
         add(simulateBookingButton);
+        add(importButton);
+        add(exportButton);
         add(exitButton);
     }
 
@@ -91,6 +107,20 @@ public class MainView extends JFrame {
         simulateBookingButton.addActionListener(listener);
     }
 
+    /**
+     * Listener for importing hotels, rooms and reservations from a CSV file.
+     * */
+    public void addImportListener(ActionListener listener) {
+        importButton.addActionListener(listener);
+    }
+
+    /**
+     * Listener for exporting hotels, rooms and reservations to a CSV file.
+     * */
+    public void addExportListener(ActionListener listener) {
+        exportButton.addActionListener(listener);
+    }
+
     /**
      * Listener for exiting the application.
      */
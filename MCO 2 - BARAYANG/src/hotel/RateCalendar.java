@@ -0,0 +1,163 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.time.LocalDate;
+
+/**
+ * This class holds the price multiplier of every night a hotel can sell, together with
+ * running totals of those multipliers. The price of any stay is then the room rate times
+ * the difference of two running totals, so pricing takes the same time however long the
+ * stay is, and every night of the stay gets its own surcharge or discount.
+ * <p>
+ * Multipliers are kept in hundredths of a percent so the running totals are exact and a
+ * run of regular nights always prices to a whole number of nights. Changes rebuild the
+ * running totals and publish them as a new array, so stays can be priced from any thread
+ * without a lock. Changes must be serialized by the caller.
+ */
+public class RateCalendar {
+
+    /**
+     * The multiplier of a night with no date modifier.
+     * */
+    public static final double REGULAR_RATE = 1.0;
+
+    /**
+     * The number of stored units in a multiplier of 1.
+     * */
+    private static final long UNITS = 10_000;
+
+    /**
+     * The multiplier of each night in hundredths of a percent, indexed by date - 1.
+     * */
+    private final long[] multipliers;
+
+    /**
+     * The running totals of the multipliers: entry i is the sum for dates 1 to i.
+     * */
+    private volatile long[] prefixSums;
+
+    /**
+     * Initializes a new RateCalendar with the hotel's standard date modifiers applied to
+     * every month: the 5th and 6th at 120%, the 8th and 9th at 70% and the 18th and 19th
+     * at 150%.
+     * @param firstDay The epoch day of date 1.
+     * @param nights The number of dates the calendar covers.
+     */
+    public RateCalendar(int firstDay, int nights) {
+        this.multipliers = new long[nights];
+        for (int i = 0; i < nights; i++) {
+            multipliers[i] = toUnits(defaultMultiplier(LocalDate.ofEpochDay(firstDay + i).getDayOfMonth()));
+        }
+        rebuild();
+    }
+
+    /**
+     * Gets the number of dates the calendar covers.
+     * @return The number of dates.
+     */
+    public int getNights() {
+        return multipliers.length;
+    }
+
+    /**
+     * Gets the price multiplier of a night.
+     * @param date The date of the night.
+     * @return The multiplier of that night.
+     */
+    public double getMultiplier(int date) {
+        long[] sums = prefixSums;
+        return (double) (sums[date] - sums[date - 1]) / UNITS;
+    }
+
+    /**
+     * Sets the price multiplier of every night in a range of dates.
+     * @param fromDate The first date to change.
+     * @param toDate The last date to change.
+     * @param multiplier The new multiplier, kept to the nearest hundredth of a percent.
+     */
+    public void setMultiplier(int fromDate, int toDate, double multiplier) {
+        long units = toUnits(multiplier);
+        for (int date = fromDate; date <= toDate; date++) {
+            multipliers[date - 1] = units;
+        }
+        rebuild();
+    }
+
+    /**
+     * Gets the sum of the multipliers of the nights of a stay.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @return The number of nights weighted by their multipliers.
+     */
+    public double weightOf(int checkIn, int checkOut) {
+        long[] sums = prefixSums;
+        return (double) (sums[checkOut - 1] - sums[checkIn - 1]) / UNITS;
+    }
+
+    /**
+     * Gets the multiplier of every night in stored units.
+     * @return A copy of the multipliers, in hundredths of a percent.
+     */
+    long[] getUnits() {
+        long[] sums = prefixSums;
+        long[] units = new long[sums.length - 1];
+        for (int i = 0; i < units.length; i++) {
+            units[i] = sums[i + 1] - sums[i];
+        }
+        return units;
+    }
+
+    /**
+     * Replaces the multiplier of every night, for example with ones read back from a snapshot.
+     * @param units The multipliers in hundredths of a percent, one per date the calendar covers.
+     */
+    void setUnits(long[] units) {
+        System.arraycopy(units, 0, multipliers, 0, multipliers.length);
+        rebuild();
+    }
+
+    /**
+     * Recomputes the running totals and publishes them.
+     */
+    private void rebuild() {
+        long[] sums = new long[multipliers.length + 1];
+        for (int i = 0; i < multipliers.length; i++) {
+            sums[i + 1] = sums[i] + multipliers[i];
+        }
+        prefixSums = sums;
+    }
+
+    /**
+     * Converts a multiplier into stored units.
+     * @param multiplier The multiplier.
+     * @return The multiplier in hundredths of a percent.
+     */
+    private static long toUnits(double multiplier) {
+        return Math.round(multiplier * UNITS);
+    }
+
+    /**
+     * Gets the standard multiplier of a day of the month.
+     * @param dayOfMonth The day of the month.
+     * @return The multiplier of that day.
+     */
+    private static double defaultMultiplier(int dayOfMonth) {
+        switch (dayOfMonth) {
+            case 5:
+            case 6:
+                return 1.2; // 120% of the base price for 5th-6th
+            case 8:
+            case 9:
+                return 0.7; // 70% of the base price for 8th-9th
+            case 18:
+            case 19:
+                return 1.5; // 150% of the base price for 18th-19th
+            default:
+                return REGULAR_RATE;
+        }
+    }
+}
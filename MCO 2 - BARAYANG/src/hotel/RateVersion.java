@@ -0,0 +1,129 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.time.Instant;
+
+/**
+ * This class represents one version of a hotel's base price. Room prices are derived from
+ * the current version when they are read, so changing the base price only publishes a new
+ * version. Reservations keep the version they were priced with. Each version links to the
+ * one it replaced, so the full history is kept for audit without copying it on every change.
+ */
+public final class RateVersion {
+
+    /**
+     * The number of the version; the first version of a hotel is 1.
+     * */
+    private final long version;
+
+    /**
+     * The base price of the version.
+     * */
+    private final double basePrice;
+
+    /**
+     * When the version took effect.
+     * */
+    private final Instant effectiveFrom;
+
+    /**
+     * The version this one replaced, or null for the first version.
+     * */
+    private final RateVersion previous;
+
+    /**
+     * Initializes the first RateVersion of a hotel.
+     * @param basePrice The base price of the version.
+     * @param effectiveFrom When the version took effect.
+     */
+    public RateVersion(double basePrice, Instant effectiveFrom) {
+        this(1, basePrice, effectiveFrom, null);
+    }
+
+    /**
+     * Initializes a new RateVersion.
+     * @param version The number of the version.
+     * @param basePrice The base price of the version.
+     * @param effectiveFrom When the version took effect.
+     * @param previous The version this one replaced, or null for the first version.
+     */
+    private RateVersion(long version, double basePrice, Instant effectiveFrom, RateVersion previous) {
+        this.version = version;
+        this.basePrice = basePrice;
+        this.effectiveFrom = effectiveFrom;
+        this.previous = previous;
+    }
+
+    /**
+     * Gets the number of the version.
+     * @return The version number.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the base price of the version.
+     * @return The base price.
+     */
+    public double getBasePrice() {
+        return basePrice;
+    }
+
+    /**
+     * Gets when the version took effect.
+     * @return The time the version took effect.
+     */
+    public Instant getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * Gets the version this one replaced.
+     * @return The previous version, or null for the first version.
+     */
+    public RateVersion getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Gets the price per night of a room under this version.
+     * @param room The room to price.
+     * @return The base price scaled by the room type's multiplier.
+     */
+    public double priceOf(Room room) {
+        return basePrice * RoomTypeRegistry.multiplierOf(room.getTypeOrdinal());
+    }
+
+    /**
+     * Creates the version that follows this one.
+     * @param newBasePrice The base price of the next version.
+     * @return The next version, effective now.
+     */
+    public RateVersion next(double newBasePrice) {
+        return next(newBasePrice, Instant.now());
+    }
+
+    /**
+     * Creates the version that follows this one, effective at a given time.
+     * @param newBasePrice The base price of the next version.
+     * @param effectiveFrom When the next version took effect.
+     * @return The next version.
+     */
+    RateVersion next(double newBasePrice, Instant effectiveFrom) {
+        return new RateVersion(version + 1, newBasePrice, effectiveFrom, this);
+    }
+
+    /**
+     * Describes the version for audit listings.
+     * @return A one-line description of the version.
+     */
+    @Override
+    public String toString() {
+        return "v" + version + ": " + basePrice + " (from " + effectiveFrom + ")";
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * Interface for following a long report as it is built in the background. The service calls
+ * it from a worker thread, so implementations that update the screen must hand the update
+ * over to the Event Dispatch Thread.
+ */
+public interface ReportProgress {
+
+    /**
+     * A progress listener that ignores every update and never cancels.
+     * */
+    ReportProgress NONE = new ReportProgress() {
+        @Override
+        public void update(int done, int total) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Called as the report is built.
+     * @param done The number of items already added to the report.
+     * @param total The number of items the report will hold.
+     */
+    void update(int done, int total);
+
+    /**
+     * Checks if the report is no longer wanted.
+     * @return True if the report should stop being built; false otherwise.
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,217 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+/**
+ * This class represents a reservation made by a guest for a room in a hotel.
+ */
+public class Reservation {
+
+    /**
+     * The name of the guest.
+     * */
+    private String guestName;
+
+    /**
+     * The check-in date.
+     * */
+    private int checkInDate;
+
+    /**
+     * The check-out date.
+     * */
+    private int checkOutDate;
+
+    /**
+     * Calls the Room Class.
+     * */
+    private Room room;
+
+    /**
+     * The total price of the reservation.
+     * */
+    private double totalPrice;
+
+    /**
+     * The discount code to apply.
+     * */
+    private String discountCode;
+
+    /**
+     * The booking number assigned by the hotel, or 0 if the reservation is not booked yet.
+     * */
+    private long bookingNumber;
+
+    /**
+     * The base price version the reservation was priced with.
+     * */
+    private RateVersion rateVersion;
+
+    /**
+     * Whether a cancellation of the reservation has been claimed. Guarded by the lock stripe of the room.
+     * */
+    private boolean cancelled;
+
+    /**
+     * Initializes a new Reservation object.
+     * @param guestName The name of the guest making the reservation.
+     * @param checkInDate The check-in date.
+     * @param checkOutDate The check-out date.
+     * @param room The room being reserved.
+     * @param totalPrice The total price of the reservation, after discounts.
+     */
+    public Reservation(String guestName, int checkInDate, int checkOutDate, Room room, double totalPrice) {
+        this.guestName = guestName;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.room = room;
+        this.totalPrice = totalPrice;
+        this.discountCode = "";
+    }
+
+    /**
+     * Initializes a reservation read back from a snapshot, already numbered and priced.
+     * @param bookingNumber The booking number assigned by the hotel.
+     * @param guestName The name of the guest making the reservation.
+     * @param checkInDate The check-in date.
+     * @param checkOutDate The check-out date.
+     * @param room The room being reserved.
+     * @param totalPrice The total price of the reservation, after discounts.
+     * @param discountCode The discount code the guest asked for.
+     * @param rateVersion The base price version the reservation was priced with.
+     */
+    Reservation(long bookingNumber, String guestName, int checkInDate, int checkOutDate, Room room, double totalPrice,
+                String discountCode, RateVersion rateVersion) {
+        this.bookingNumber = bookingNumber;
+        this.guestName = guestName;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.room = room;
+        this.totalPrice = totalPrice;
+        this.discountCode = discountCode;
+        this.rateVersion = rateVersion;
+    }
+
+    /**
+     * Retrieves the name of the guest associated with the reservation.
+     * @return The guest's name.
+     */
+    public String getGuestName() {
+        return guestName;
+    }
+
+    /**
+     * Retrieves the check-in date of the reservation.
+     * @return The check-in date.
+     */
+    public int getCheckInDate() {
+        return checkInDate;
+    }
+
+    /**
+     * Retrieves the check-out date of the reservation.
+     * @return The check-out date.
+     */
+    public int getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    /**
+     * Retrieves the room associated with the reservation.
+     * @return The reserved room.
+     */
+    public Room getRoom() {
+        return room;
+    }
+
+    /**
+     * Retrieves the booking number assigned by the hotel.
+     * @return The booking number, or 0 if the reservation is not booked yet.
+     */
+    public long getBookingNumber() {
+        return bookingNumber;
+    }
+
+    /**
+     * Sets the booking number assigned by the hotel.
+     * @param bookingNumber The booking number.
+     */
+    void setBookingNumber(long bookingNumber) {
+        this.bookingNumber = bookingNumber;
+    }
+
+    /**
+     * Checks if a cancellation of the reservation has been claimed.
+     * The caller must hold the lock stripe of the room.
+     * @return True if the reservation is being or has been cancelled; false otherwise.
+     */
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Claims or releases the cancellation of the reservation.
+     * The caller must hold the lock stripe of the room.
+     * @param cancelled True to claim the cancellation; false to release a claim that could not be recorded.
+     */
+    void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Retrieves the base price version the reservation was priced with.
+     * @return The rate version, or null if the reservation was not priced by a hotel.
+     */
+    public RateVersion getRateVersion() {
+        return rateVersion;
+    }
+
+    /**
+     * Records the base price version the reservation was priced with.
+     * @param rateVersion The rate version.
+     */
+    void setRateVersion(RateVersion rateVersion) {
+        this.rateVersion = rateVersion;
+    }
+
+    /**
+     * Retrieves the total price of the reservation based on the number of nights and room price per night.
+     * @return The total price of the reservation.
+     */
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    /**
+     * Retrieves the discount code the guest asked for.
+     * @return The discount code, or an empty string if none was given.
+     */
+    public String getDiscountCode() {
+        return discountCode;
+    }
+
+    /**
+     * Records the discount code the guest asked for.
+     * @param discountCode The discount code.
+     */
+    void setDiscountCode(String discountCode) {
+        this.discountCode = discountCode;
+    }
+
+    /**
+     * Displays details of the reservation including guest name, room name, dates, and total price.
+     */
+    public void displayReservationDetails() {
+        System.out.println("Guest Name: " + getGuestName());
+        System.out.println("Room Name: " + room.getName());
+        System.out.println("Check-In Date: " + getCheckInDate());
+        System.out.println("Check-Out Date: " + getCheckOutDate());
+        System.out.println("Total Price: " + getTotalPrice());
+        if (rateVersion != null) {
+            System.out.println("Rate Version: " + rateVersion.getVersion());
+        }
+    }
+}
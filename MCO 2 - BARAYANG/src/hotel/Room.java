@@ -0,0 +1,231 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents a room in a created hotel. The room's data lives in the
+ * columns of a RoomStore; a Room only remembers which store and slot hold it.
+ */
+public class Room {
+
+    /**
+     * The store holding the room's data.
+     * */
+    private final RoomStore store;
+
+    /**
+     * The slot of the room in its store.
+     * */
+    private final int slot;
+
+    /**
+     * Initializes a new Room object with a given name and price per night.
+     * @param name The name of the room.
+     * @param pricePerNight The price per night for the room.
+     * @param type The type of the room (Standard, Deluxe, Executive).
+     */
+    public Room(String name, double pricePerNight, RoomType type) {
+        this(name, pricePerNight, type, (int) LocalDate.now().withDayOfMonth(1).toEpochDay());
+    }
+
+    /**
+     * Initializes a new Room object whose date 1 falls on a given epoch day.
+     * The room gets a store of its own, priced so the room costs the given price per night;
+     * rooms of a hotel are created through the hotel's store and priced from the hotel's base price.
+     * @param name The name of the room.
+     * @param pricePerNight The price per night for the room.
+     * @param type The type of the room (Standard, Deluxe, Executive).
+     * @param firstDay The epoch day of date 1.
+     */
+    public Room(String name, double pricePerNight, RoomType type, int firstDay) {
+        double basePrice = pricePerNight / RoomTypeRegistry.multiplierOf(RoomTypeRegistry.ordinalOf(type));
+        this.store = new RoomStore(firstDay, new RateVersion(basePrice, Instant.now()));
+        this.slot = store.attach(this, name, type);
+    }
+
+    /**
+     * Initializes a view of a room already held in a store.
+     * @param store The store holding the room.
+     * @param slot The slot of the room in the store.
+     */
+    Room(RoomStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Retrieves the slot of the room in its store.
+     * @return The slot of the room.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Retrieves the name of the room.
+     * @return The name of the room.
+     */
+    public String getName() {
+        return store.nameAt(slot);
+    }
+
+    /**
+     * Retrieves the price per night for the room, derived from the current base price and the room type.
+     * @return The price per night.
+     */
+    public double getPricePerNight() {
+        return store.priceAt(slot);
+    }
+
+    /**
+     * Retrieves the type of the room.
+     * @return The type of the room.
+     */
+    public RoomType getType() {
+        return store.typeAt(slot);
+    }
+
+    /**
+     * Retrieves the registry ordinal of the room's type.
+     * @return The ordinal of the room's type.
+     */
+    int getTypeOrdinal() {
+        return store.typeOrdinalAt(slot);
+    }
+
+    /**
+     * Checks if the room is available for a given date range.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     * @return True if the room is available; false otherwise.
+     */
+    public boolean isAvailable(int checkIn, int checkOut) {
+        return calendar().isFree(dayOf(checkIn), dayOf(checkOut));
+    }
+
+    /**
+     * Marks the room as booked for a given date range.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     */
+    public void bookRoom(int checkIn, int checkOut) {
+        calendar().book(dayOf(checkIn), dayOf(checkOut));
+    }
+
+    /**
+     * Cancels the booking for a given date range, marking the room as available again.
+     * @param checkIn The check-in date.
+     * @param checkOut The check-out date.
+     */
+    public void cancelBooking(int checkIn, int checkOut) {
+        calendar().release(dayOf(checkIn), dayOf(checkOut));
+    }
+
+    /**
+     * Checks if the room is booked on a given night.
+     * @param date The date of the night.
+     * @return True if the room is booked that night; false otherwise.
+     */
+    public boolean isBookedOn(int date) {
+        return calendar().isBooked(dayOf(date));
+    }
+
+    /**
+     * Gets the number of 64-night chunks of the calendar that hold bookings.
+     * @return The number of stored calendar chunks.
+     */
+    public int getCalendarChunkCount() {
+        return calendar().getChunkCount();
+    }
+
+    /**
+     * Retrieves the reservations booked in the room.
+     * @return The room's reservations in booking order.
+     */
+    public List<Reservation> getReservations() {
+        return Collections.unmodifiableList(store.reservationsAt(slot));
+    }
+
+    /**
+     * Checks if the room has any reservations.
+     * @return True if at least one reservation is booked in the room; false otherwise.
+     */
+    public boolean hasReservations() {
+        return !store.reservationsAt(slot).isEmpty();
+    }
+
+    /**
+     * Records a reservation made for the room.
+     * @param reservation The reservation to record.
+     */
+    void addReservation(Reservation reservation) {
+        store.reservationsAt(slot).add(reservation);
+    }
+
+    /**
+     * Forgets a reservation that was cancelled.
+     * @param reservation The reservation to forget.
+     */
+    void removeReservation(Reservation reservation) {
+        store.reservationsAt(slot).remove(reservation);
+    }
+
+    /**
+     * Retrieves the availability status of a range of dates as a string.
+     * @param fromDate The first date to show.
+     * @param toDate The last date to show.
+     * @return The availability status as a string.
+     */
+    public String getAvailabilityString(int fromDate, int toDate) {
+        StringBuilder availabilityString = new StringBuilder();
+        for (int date = fromDate; date <= toDate; date++) {
+            availabilityString.append(date).append(": ").append(isBookedOn(date) ? "Booked" : "Available").append("\n");
+        }
+        return availabilityString.toString();
+    }
+
+    /**
+     * Displays details of the room including name, price, availability, and reservations.
+     * @param nights The number of dates, starting from date 1, to show the availability of.
+     */
+    public void displayRoomDetails(int nights) {
+        System.out.println("Room Name: " + getName());
+        System.out.println("Room Type: " + getType().getTypeName());
+        System.out.println("Price Per Night: " + getPricePerNight());
+        System.out.print("Availability: ");
+        for (int date = 1; date <= nights; date++) {
+            System.out.print(date + ": " + (isBookedOn(date) ? "Not Available " : "Available "));
+        }
+        System.out.println();
+        List<Reservation> reservations = getReservations();
+        System.out.println("Reservations: " + reservations.size());
+        for (Reservation reservation : reservations) {
+            System.out.println("  " + reservation.getGuestName() + " (" + reservation.getCheckInDate() + "-" + reservation.getCheckOutDate() + ")");
+        }
+    }
+
+    /**
+     * Gets the booking calendar of the room.
+     * @return The room's calendar.
+     */
+    private AvailabilityCalendar calendar() {
+        return store.calendarAt(slot);
+    }
+
+    /**
+     * Converts a date of the room's calendar into an epoch day.
+     * @param date The date, where date 1 is the calendar start.
+     * @return The epoch day of the date.
+     */
+    private int dayOf(int date) {
+        return store.getFirstDay() + date - 1;
+    }
+}
\ No newline at end of file
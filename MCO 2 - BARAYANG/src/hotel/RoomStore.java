@@ -0,0 +1,343 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class stores the rooms of a hotel column by column. Names and room types each live
+ * in their own array indexed by the room's slot, so scans over every room such as looking
+ * for free rooms walk flat arrays instead of chasing one object per room. Room objects are
+ * only views that remember their store and slot. Prices are not stored per room: they are
+ * derived from the store's current rate version and the room type's multiplier, so a rate
+ * change is a single write.
+ * <p>
+ * Slots are handed out in insertion order and never move. A removed room keeps its slot
+ * marked as removed, so a room that is being booked while another one is removed never
+ * sees its columns shift underneath it. Adding and removing rooms must be serialized by
+ * the caller; the columns themselves can be read from any thread.
+ */
+public class RoomStore {
+
+    /**
+     * The number of slots allocated for a new store.
+     * */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The epoch day of date 1 of every room's calendar.
+     * */
+    private final int firstDay;
+
+    /**
+     * The name of the room in each slot.
+     * */
+    private volatile String[] names;
+
+    /**
+     * The base price version the rooms are currently priced with.
+     * */
+    private volatile RateVersion rate;
+
+    /**
+     * The registry ordinal of the type of the room in each slot.
+     * */
+    private volatile int[] typeOrdinals;
+
+    /**
+     * Whether the room in each slot has been removed.
+     * */
+    private volatile boolean[] removed;
+
+    /**
+     * The booking calendar of the room in each slot.
+     * */
+    private volatile AvailabilityCalendar[] calendars;
+
+    /**
+     * The reservations booked in the room in each slot.
+     * */
+    private volatile CopyOnWriteArrayList<Reservation>[] reservations;
+
+    /**
+     * The room view for each slot.
+     * */
+    private volatile Room[] views;
+
+    /**
+     * The number of slots handed out so far, including removed ones.
+     * */
+    private volatile int slotCount;
+
+    /**
+     * The number of rooms that have not been removed.
+     * */
+    private volatile int roomCount;
+
+    /**
+     * Initializes a new, empty RoomStore.
+     * @param firstDay The epoch day of date 1 of every room's calendar.
+     * @param rate The base price version to price the rooms with.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RoomStore(int firstDay, RateVersion rate) {
+        this.firstDay = firstDay;
+        this.rate = rate;
+        this.names = new String[INITIAL_CAPACITY];
+        this.typeOrdinals = new int[INITIAL_CAPACITY];
+        this.removed = new boolean[INITIAL_CAPACITY];
+        this.calendars = new AvailabilityCalendar[INITIAL_CAPACITY];
+        this.reservations = new CopyOnWriteArrayList[INITIAL_CAPACITY];
+        this.views = new Room[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the epoch day of date 1 of every room's calendar.
+     * @return The epoch day of date 1.
+     */
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * Gets the base price version the rooms are currently priced with.
+     * @return The current rate version.
+     */
+    public RateVersion getRate() {
+        return rate;
+    }
+
+    /**
+     * Changes the base price version the rooms are priced with.
+     * @param rate The new rate version.
+     */
+    public void setRate(RateVersion rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Gets the number of rooms in the store, not counting removed ones.
+     * @return The number of rooms.
+     */
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /**
+     * Gets the number of slots used, including those of removed rooms.
+     * @return The number of slots.
+     */
+    int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Adds a room to the end of the store.
+     * @param name The name of the room.
+     * @param type The type of the room.
+     * @return The view of the new room.
+     */
+    public Room add(String name, RoomType type) {
+        int slot = slotCount;
+        Room room = new Room(this, slot);
+        fill(slot, room, name, type);
+        return room;
+    }
+
+    /**
+     * Fills the next slot of the store with a room whose view already exists.
+     * @param room The view of the room.
+     * @param name The name of the room.
+     * @param type The type of the room.
+     * @return The slot given to the room.
+     */
+    int attach(Room room, String name, RoomType type) {
+        int slot = slotCount;
+        fill(slot, room, name, type);
+        return slot;
+    }
+
+    /**
+     * Marks a room as removed. Its slot is not reused.
+     * @param room The room to remove.
+     */
+    public void remove(Room room) {
+        int slot = room.getSlot();
+        if (!removed[slot]) {
+            removed[slot] = true;
+            roomCount--;
+        }
+    }
+
+    /**
+     * Gets the rooms of the store in insertion order, skipping removed ones.
+     * @return A new list holding the rooms.
+     */
+    public List<Room> getRooms() {
+        int count = slotCount;
+        boolean[] removedColumn = removed;
+        Room[] viewColumn = views;
+        ArrayList<Room> rooms = new ArrayList<>(roomCount);
+        for (int slot = 0; slot < count; slot++) {
+            if (!removedColumn[slot]) {
+                rooms.add(viewColumn[slot]);
+            }
+        }
+        return rooms;
+    }
+
+    /**
+     * Finds rooms that are free for every night of a range, cheapest type first.
+     * Rooms of one type share a price, so the type column is scanned once per type in
+     * order of price and the scan stops as soon as enough rooms are found.
+     * @param from The first epoch day of the range (inclusive).
+     * @param to The epoch day after the last night of the range (exclusive).
+     * @param type The room type to look for, or null for any type.
+     * @param limit The maximum number of rooms to return.
+     * @return Up to limit free rooms, ordered by price per night.
+     */
+    public List<Room> findFree(int from, int to, RoomType type, int limit) {
+        ArrayList<Room> free = new ArrayList<>(Math.max(0, Math.min(limit, roomCount)));
+        if (limit <= 0) {
+            return free;
+        }
+        int count = slotCount;
+        int[] typeColumn = typeOrdinals;
+        boolean[] removedColumn = removed;
+        AvailabilityCalendar[] calendarColumn = calendars;
+        Room[] viewColumn = views;
+
+        for (int ordinal : typesByPrice(type)) {
+            for (int slot = 0; slot < count; slot++) {
+                if (typeColumn[slot] == ordinal && !removedColumn[slot] && calendarColumn[slot].isFree(from, to)) {
+                    free.add(viewColumn[slot]);
+                    if (free.size() == limit) {
+                        return free;
+                    }
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Gets the name of the room in a slot.
+     * @param slot The slot of the room.
+     * @return The name of the room.
+     */
+    String nameAt(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Checks if the room in a slot has been removed.
+     * @param slot The slot of the room.
+     * @return True if the room was removed; false otherwise.
+     */
+    boolean isRemovedAt(int slot) {
+        return removed[slot];
+    }
+
+    /**
+     * Gets the price per night of the room in a slot under the current rate version.
+     * @param slot The slot of the room.
+     * @return The price per night.
+     */
+    double priceAt(int slot) {
+        return rate.getBasePrice() * RoomTypeRegistry.multiplierOf(typeOrdinals[slot]);
+    }
+
+    /**
+     * Gets the type of the room in a slot.
+     * @param slot The slot of the room.
+     * @return The type of the room.
+     */
+    RoomType typeAt(int slot) {
+        return RoomTypeRegistry.get(typeOrdinals[slot]);
+    }
+
+    /**
+     * Gets the registry ordinal of the type of the room in a slot.
+     * @param slot The slot of the room.
+     * @return The ordinal of the room's type.
+     */
+    int typeOrdinalAt(int slot) {
+        return typeOrdinals[slot];
+    }
+
+    /**
+     * Gets the booking calendar of the room in a slot.
+     * @param slot The slot of the room.
+     * @return The calendar of the room.
+     */
+    AvailabilityCalendar calendarAt(int slot) {
+        return calendars[slot];
+    }
+
+    /**
+     * Gets the reservations of the room in a slot.
+     * @param slot The slot of the room.
+     * @return The room's reservations in booking order.
+     */
+    CopyOnWriteArrayList<Reservation> reservationsAt(int slot) {
+        return reservations[slot];
+    }
+
+    /**
+     * Writes a room into a slot, growing the columns when they are full.
+     * @param slot The slot to fill.
+     * @param room The view of the room.
+     * @param name The name of the room.
+     * @param type The type of the room.
+     */
+    private void fill(int slot, Room room, String name, RoomType type) {
+        int typeOrdinal = RoomTypeRegistry.ordinalOf(type);
+        if (slot == names.length) {
+            grow();
+        }
+        names[slot] = name;
+        typeOrdinals[slot] = typeOrdinal;
+        calendars[slot] = new AvailabilityCalendar();
+        reservations[slot] = new CopyOnWriteArrayList<>();
+        views[slot] = room;
+        roomCount++;
+        slotCount = slot + 1;
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        typeOrdinals = Arrays.copyOf(typeOrdinals, capacity);
+        removed = Arrays.copyOf(removed, capacity);
+        calendars = Arrays.copyOf(calendars, capacity);
+        reservations = Arrays.copyOf(reservations, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    /**
+     * Lists the type ordinals to scan for free rooms, cheapest first.
+     * @param type The room type to look for, or null for any type.
+     * @return The type ordinals in order of price.
+     */
+    private static Integer[] typesByPrice(RoomType type) {
+        if (type != null) {
+            return new Integer[] {RoomTypeRegistry.ordinalOf(type)};
+        }
+        double[] multipliers = RoomTypeRegistry.multipliers();
+        Integer[] ordinals = new Integer[multipliers.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = i;
+        }
+        Arrays.sort(ordinals, (a, b) -> Double.compare(multipliers[a], multipliers[b]));
+        return ordinals;
+    }
+}
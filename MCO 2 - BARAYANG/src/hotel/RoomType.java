@@ -3,6 +3,8 @@
  * Section: S14
  * */
 
+package hotel;
+
 /**
  * Interface representing different types of rooms.
  */
@@ -0,0 +1,238 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps the one shared instance of every room type. Each type gets a stable
+ * ordinal in the order it was registered, and the price multipliers are kept in a table
+ * indexed by ordinal so that pricing reads an array instead of calling into the type.
+ * <p>
+ * Standard, Deluxe and Executive are always registered as ordinals 0, 1 and 2. More types
+ * are read at startup from the file named by the {@value #CONFIG_PROPERTY} system property,
+ * one {@code Name=multiplier} pair per line, or can be registered at runtime.
+ */
+public final class RoomTypeRegistry {
+
+    /**
+     * The system property naming a file of extra room types to register at startup.
+     * */
+    public static final String CONFIG_PROPERTY = "hotel.roomTypes";
+
+    /**
+     * The shared Standard room type.
+     * */
+    public static final RoomType STANDARD;
+
+    /**
+     * The shared Deluxe room type.
+     * */
+    public static final RoomType DELUXE;
+
+    /**
+     * The shared Executive room type.
+     * */
+    public static final RoomType EXECUTIVE;
+
+    /**
+     * The registered types indexed by ordinal.
+     * */
+    private static volatile RoomType[] types = new RoomType[0];
+
+    /**
+     * The price multiplier of each registered type indexed by ordinal.
+     * */
+    private static volatile double[] multipliers = new double[0];
+
+    /**
+     * The ordinals of the registered types keyed by normalized type name.
+     * */
+    private static final ConcurrentHashMap<String, Integer> ordinals = new ConcurrentHashMap<>();
+
+    static {
+        STANDARD = register(new StandardRoom());
+        DELUXE = register(new DeluxeRoom());
+        EXECUTIVE = register(new ExecutiveRoom());
+        String config = System.getProperty(CONFIG_PROPERTY);
+        if (config != null && !config.trim().isEmpty()) {
+            try {
+                load(Paths.get(config.trim()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read room types from " + config + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation; the registry only has static members.
+     */
+    private RoomTypeRegistry() {
+    }
+
+    /**
+     * Registers a new room type.
+     * @param typeName The name of the room type.
+     * @param priceMultiplier The price multiplier of the room type.
+     * @return The shared instance of the new type.
+     * @throws IllegalArgumentException if the name is empty or taken, or the multiplier is not positive.
+     */
+    public static RoomType register(String typeName, double priceMultiplier) {
+        if (typeName == null || typeName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Room type name cannot be empty.");
+        } else if (!(priceMultiplier > 0) || Double.isInfinite(priceMultiplier)) {
+            throw new IllegalArgumentException("Price multiplier must be a positive number.");
+        }
+        return register(new ConfiguredRoomType(typeName.trim(), priceMultiplier));
+    }
+
+    /**
+     * Registers every room type listed in a file, one {@code Name=multiplier} pair per line.
+     * Blank lines and lines starting with # are skipped.
+     * @param file The file to read.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line is malformed or names a type that is already registered.
+     */
+    public static void load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            load(reader);
+        }
+    }
+
+    /**
+     * Registers every room type listed by a reader, one {@code Name=multiplier} pair per line.
+     * Blank lines and lines starting with # are skipped.
+     * @param reader The reader to read from.
+     * @throws IOException if the reader fails.
+     * @throws IllegalArgumentException if a line is malformed or names a type that is already registered.
+     */
+    public static void load(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected Name=multiplier.");
+            }
+            double multiplier;
+            try {
+                multiplier = Double.parseDouble(line.substring(separator + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid price multiplier.");
+            }
+            register(line.substring(0, separator), multiplier);
+        }
+    }
+
+    /**
+     * Gets the registered types in ordinal order.
+     * @return An unmodifiable list of the registered types.
+     */
+    public static List<RoomType> getTypes() {
+        return Collections.unmodifiableList(Arrays.asList(types));
+    }
+
+    /**
+     * Gets the number of registered types.
+     * @return The number of types.
+     */
+    public static int size() {
+        return types.length;
+    }
+
+    /**
+     * Gets a registered type by ordinal.
+     * @param ordinal The ordinal of the type.
+     * @return The shared instance of the type.
+     */
+    public static RoomType get(int ordinal) {
+        return types[ordinal];
+    }
+
+    /**
+     * Finds a registered type by name, ignoring letter case.
+     * @param typeName The name of the type.
+     * @return The shared instance of the type, or null if no type has that name.
+     */
+    public static RoomType find(String typeName) {
+        if (typeName == null) {
+            return null;
+        }
+        Integer ordinal = ordinals.get(Hotel.normalizeName(typeName.trim()));
+        return ordinal == null ? null : types[ordinal];
+    }
+
+    /**
+     * Gets the ordinal of a room type, matching it by name so that any instance of a
+     * registered type works.
+     * @param type The room type.
+     * @return The ordinal of the type.
+     * @throws IllegalArgumentException if the type is not registered.
+     */
+    public static int ordinalOf(RoomType type) {
+        Integer ordinal = ordinals.get(Hotel.normalizeName(type.getTypeName()));
+        if (ordinal == null) {
+            throw new IllegalArgumentException("Unknown room type: " + type.getTypeName());
+        }
+        return ordinal;
+    }
+
+    /**
+     * Gets the price multiplier of a type.
+     * @param ordinal The ordinal of the type.
+     * @return The price multiplier.
+     */
+    public static double multiplierOf(int ordinal) {
+        return multipliers[ordinal];
+    }
+
+    /**
+     * Gets the table of price multipliers. The array is shared and must not be modified;
+     * it is replaced, not changed, when a type is registered.
+     * @return The price multipliers indexed by ordinal.
+     */
+    static double[] multipliers() {
+        return multipliers;
+    }
+
+    /**
+     * Adds a type to the end of the tables.
+     * @param type The type to add.
+     * @return The type.
+     * @throws IllegalArgumentException if a type with the same name is already registered.
+     */
+    private static synchronized RoomType register(RoomType type) {
+        String key = Hotel.normalizeName(type.getTypeName());
+        if (ordinals.containsKey(key)) {
+            throw new IllegalArgumentException("Room type " + type.getTypeName() + " is already registered.");
+        }
+        int ordinal = types.length;
+        RoomType[] grownTypes = Arrays.copyOf(types, ordinal + 1);
+        grownTypes[ordinal] = type;
+        double[] grownMultipliers = Arrays.copyOf(multipliers, ordinal + 1);
+        grownMultipliers[ordinal] = type.getPriceMultiplier();
+        types = grownTypes;
+        multipliers = grownMultipliers;
+        ordinals.put(key, ordinal);
+        return type;
+    }
+}
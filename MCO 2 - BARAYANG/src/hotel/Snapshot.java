@@ -0,0 +1,521 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class saves the whole hotel system to a compact binary file and loads it back.
+ * The file is laid out in columns rather than objects: every hotel stores its rooms as one
+ * array per field and its reservations the same way, and all strings are kept once in a
+ * shared table and referred to by index. Loading maps the file into memory and copies each
+ * column out with a single bulk read, so room calendars and reservation records are never
+ * parsed field by field.
+ * <p>
+ * Every snapshot carries the journal generation it covers, so the journal written after it
+ * can be told apart from one it already contains. All numbers are little-endian and every
+ * section starts on an 8-byte boundary. A snapshot is written to a temporary file and moved
+ * into place, so a crash never leaves a half-written snapshot behind.
+ */
+public final class Snapshot {
+
+    /**
+     * The first four bytes of every snapshot: "HSNP".
+     * */
+    private static final int MAGIC = 0x504E5348;
+
+    /**
+     * The version of the format written by this class.
+     * */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The size of the file header: magic, version, checksum, counts, generation and last hotel identifier.
+     * */
+    private static final int HEADER_BYTES = 40;
+
+    /**
+     * The size of the fixed part of each hotel's section.
+     * */
+    private static final int HOTEL_HEADER_BYTES = 48;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Saves every hotel in the hotel system. Nothing may change the hotels while they are saved.
+     * @param file The snapshot file, replaced if it exists.
+     * @param generation The journal generation the snapshot covers.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public static void write(Path file, long generation) throws IOException {
+        List<Hotel> hotels = new ArrayList<>(HotelSystem.hotels);
+        StringTable strings = new StringTable();
+        int size = HEADER_BYTES;
+        for (Hotel hotel : hotels) {
+            size += sizeOf(hotel, strings);
+        }
+        size += strings.size();
+
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        out.position(HEADER_BYTES);
+        strings.writeTo(out);
+        for (Hotel hotel : hotels) {
+            writeHotel(out, hotel, strings);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), HEADER_BYTES, size - HEADER_BYTES);
+        out.putInt(0, MAGIC)
+                .putInt(4, FORMAT_VERSION)
+                .putInt(8, (int) crc.getValue())
+                .putInt(12, hotels.size())
+                .putLong(16, generation)
+                .putInt(24, strings.count())
+                .putInt(28, 0)
+                .putLong(32, HotelSystem.getLastHotelId());
+        out.position(0);
+
+        Path parent = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Loads a snapshot into the hotel system, which should have no hotels yet.
+     * @param file The snapshot file.
+     * @return The journal generation the snapshot covers.
+     * @throws IOException if the snapshot cannot be read.
+     * @throws IllegalStateException if the file is not a snapshot, is damaged, or was written
+     *         in a format or with room types this build does not know.
+     */
+    public static long load(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException(file + " is not a hotel snapshot.");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer in = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (in.getInt(0) != MAGIC) {
+            throw new IllegalStateException(file + " is not a hotel snapshot.");
+        } else if (in.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException(file + " uses snapshot format " + in.getInt(4)
+                    + "; this version reads format " + FORMAT_VERSION + ".");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate().position(HEADER_BYTES));
+        if ((int) crc.getValue() != in.getInt(8)) {
+            throw new IllegalStateException(file + " is damaged: its checksum does not match.");
+        }
+        int hotelCount = in.getInt(12);
+        long generation = in.getLong(16);
+        int stringCount = in.getInt(24);
+        long lastHotelId = in.getLong(32);
+
+        try {
+            in.position(HEADER_BYTES);
+            String[] strings = readStrings(in, stringCount);
+            for (int i = 0; i < hotelCount; i++) {
+                readHotel(in, strings);
+            }
+            HotelSystem.restoreLastHotelId(lastHotelId);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IllegalStateException(file + " is damaged: a section is cut short.", e);
+        }
+        return generation;
+    }
+
+    /**
+     * Computes the size of a hotel's section and adds its strings to the string table.
+     * @param hotel The hotel.
+     * @param strings The string table.
+     * @return The size of the section in bytes.
+     */
+    private static int sizeOf(Hotel hotel, StringTable strings) {
+        strings.indexOf(hotel.getName());
+        RoomStore store = hotel.getRoomStore();
+        int slots = store.getSlotCount();
+        int chunkWords = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            strings.indexOf(store.nameAt(slot));
+            strings.indexOf(store.typeAt(slot).getTypeName());
+            chunkWords += store.calendarAt(slot).getChunks().length;
+        }
+        List<Reservation> reservations = hotel.getReservations();
+        for (Reservation reservation : reservations) {
+            strings.indexOf(reservation.getGuestName());
+            strings.indexOf(reservation.getDiscountCode());
+        }
+        int rates = hotel.getRateHistory().size();
+        int n = reservations.size();
+        return HOTEL_HEADER_BYTES
+                + align(rates * 20)
+                + hotel.getRateCalendar().getNights() * 8
+                + align(slots * 4) * 2 + align(slots) + align(slots * 4) + chunkWords * 8
+                + n * 8 + align(n * 4) * 5 + n * 8 + n * 8;
+    }
+
+    /**
+     * Writes a hotel's section.
+     * @param out The snapshot being written.
+     * @param hotel The hotel.
+     * @param strings The string table.
+     */
+    private static void writeHotel(ByteBuffer out, Hotel hotel, StringTable strings) {
+        RoomStore store = hotel.getRoomStore();
+        int slots = store.getSlotCount();
+        List<RateVersion> rates = hotel.getRateHistory();
+        long[] units = hotel.getRateCalendar().getUnits();
+        List<Reservation> reservations = hotel.getReservations();
+        int n = reservations.size();
+        int chunkWords = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            chunkWords += store.calendarAt(slot).getChunks().length;
+        }
+
+        out.putLong(hotel.getId())
+                .putLong(hotel.getLastBookingNumber())
+                .putInt(strings.indexOf(hotel.getName()))
+                .putInt(store.getFirstDay())
+                .putInt(hotel.getBookingHorizon())
+                .putInt(rates.size())
+                .putInt(units.length)
+                .putInt(slots)
+                .putInt(n)
+                .putInt(chunkWords);
+
+        for (RateVersion rate : rates) {
+            out.putDouble(rate.getBasePrice());
+        }
+        for (RateVersion rate : rates) {
+            out.putLong(rate.getEffectiveFrom().getEpochSecond());
+        }
+        for (RateVersion rate : rates) {
+            out.putInt(rate.getEffectiveFrom().getNano());
+        }
+        pad(out);
+        out.asLongBuffer().put(units);
+        out.position(out.position() + units.length * 8);
+
+        for (int slot = 0; slot < slots; slot++) {
+            out.putInt(strings.indexOf(store.nameAt(slot)));
+        }
+        pad(out);
+        for (int slot = 0; slot < slots; slot++) {
+            out.putInt(strings.indexOf(store.typeAt(slot).getTypeName()));
+        }
+        pad(out);
+        for (int slot = 0; slot < slots; slot++) {
+            out.put((byte) (store.isRemovedAt(slot) ? 1 : 0));
+        }
+        pad(out);
+        for (int slot = 0; slot < slots; slot++) {
+            out.putInt(store.calendarAt(slot).getChunks().length);
+        }
+        pad(out);
+        for (int slot = 0; slot < slots; slot++) {
+            long[] chunks = store.calendarAt(slot).getChunks();
+            out.asLongBuffer().put(chunks);
+            out.position(out.position() + chunks.length * 8);
+        }
+
+        for (Reservation reservation : reservations) {
+            out.putLong(reservation.getBookingNumber());
+        }
+        for (Reservation reservation : reservations) {
+            out.putInt(reservation.getRoom().getSlot());
+        }
+        pad(out);
+        for (Reservation reservation : reservations) {
+            out.putInt(reservation.getCheckInDate());
+        }
+        pad(out);
+        for (Reservation reservation : reservations) {
+            out.putInt(reservation.getCheckOutDate());
+        }
+        pad(out);
+        for (Reservation reservation : reservations) {
+            out.putInt(strings.indexOf(reservation.getGuestName()));
+        }
+        pad(out);
+        for (Reservation reservation : reservations) {
+            out.putInt(strings.indexOf(reservation.getDiscountCode()));
+        }
+        pad(out);
+        for (Reservation reservation : reservations) {
+            out.putDouble(reservation.getTotalPrice());
+        }
+        for (Reservation reservation : reservations) {
+            out.putLong(reservation.getRateVersion().getVersion());
+        }
+    }
+
+    /**
+     * Reads the string table.
+     * @param in The mapped snapshot, positioned at the string table.
+     * @param count The number of strings.
+     * @return The strings, by index.
+     */
+    private static String[] readStrings(ByteBuffer in, int count) {
+        int[] offsets = readInts(in, count + 1);
+        byte[] bytes = new byte[offsets[count]];
+        in.get(bytes);
+        pad(in);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * Reads a hotel's section and adds the hotel to the hotel system.
+     * @param in The mapped snapshot, positioned at the section.
+     * @param strings The string table.
+     * @throws IllegalStateException if a room type is not registered or the hotel cannot be restored.
+     */
+    private static void readHotel(ByteBuffer in, String[] strings) {
+        long id = in.getLong();
+        long lastBookingNumber = in.getLong();
+        String name = strings[in.getInt()];
+        int firstDay = in.getInt();
+        int bookingHorizon = in.getInt();
+        int rateCount = in.getInt();
+        int nights = in.getInt();
+        int slots = in.getInt();
+        int n = in.getInt();
+        int chunkWords = in.getInt();
+
+        double[] basePrices = readDoubles(in, rateCount);
+        long[] seconds = readLongs(in, rateCount);
+        int[] nanos = readInts(in, rateCount);
+        long[] units = readLongs(in, nights);
+
+        // The hotel joins the hotel system only once it is fully restored
+        Hotel hotel = new Hotel(name, id, firstDay, Instant.ofEpochSecond(seconds[0], nanos[0]));
+        RateVersion[] versions = new RateVersion[rateCount];
+        versions[0] = hotel.getCurrentRate();
+        for (int i = 1; i < rateCount; i++) {
+            hotel.restoreBasePrice(basePrices[i], Instant.ofEpochSecond(seconds[i], nanos[i]));
+            versions[i] = hotel.getCurrentRate();
+        }
+        hotel.setBookingHorizon(bookingHorizon);
+        hotel.getRateCalendar().setUnits(units);
+
+        int[] roomNames = readInts(in, slots);
+        int[] roomTypes = readInts(in, slots);
+        byte[] removedFlags = new byte[slots];
+        in.get(removedFlags);
+        pad(in);
+        int[] chunkCounts = readInts(in, slots);
+        long[] words = readLongs(in, chunkWords);
+
+        String[] names = new String[slots];
+        RoomType[] types = new RoomType[slots];
+        boolean[] removed = new boolean[slots];
+        long[][] calendars = new long[slots][];
+        HashMap<String, RoomType> typesByName = new HashMap<>();
+        int word = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            names[slot] = strings[roomNames[slot]];
+            types[slot] = typesByName.computeIfAbsent(strings[roomTypes[slot]], Snapshot::registeredType);
+            removed[slot] = removedFlags[slot] != 0;
+            calendars[slot] = new long[chunkCounts[slot]];
+            System.arraycopy(words, word, calendars[slot], 0, chunkCounts[slot]);
+            word += chunkCounts[slot];
+        }
+        Room[] rooms = hotel.restoreRooms(names, types, removed, calendars);
+
+        // Reservation columns are copied out in bulk, so each row is built from plain array reads
+        long[] numbers = readLongs(in, n);
+        int[] roomSlots = readInts(in, n);
+        int[] checkIns = readInts(in, n);
+        int[] checkOuts = readInts(in, n);
+        int[] guests = readInts(in, n);
+        int[] codes = readInts(in, n);
+        double[] totals = readDoubles(in, n);
+        long[] rateVersions = readLongs(in, n);
+
+        Reservation[] reservations = new Reservation[n];
+        for (int i = 0; i < n; i++) {
+            reservations[i] = new Reservation(numbers[i], strings[guests[i]], checkIns[i], checkOuts[i], rooms[roomSlots[i]],
+                    totals[i], strings[codes[i]], versions[(int) rateVersions[i] - 1]);
+        }
+        hotel.restoreReservations(Arrays.asList(reservations), lastBookingNumber);
+        HotelSystem.restoreHotel(hotel);
+    }
+
+    /**
+     * Looks up a room type named in a snapshot.
+     * @param typeName The name of the type.
+     * @return The registered type.
+     * @throws IllegalStateException if no type with that name is registered.
+     */
+    private static RoomType registeredType(String typeName) {
+        RoomType type = RoomTypeRegistry.find(typeName);
+        if (type == null) {
+            throw new IllegalStateException("Snapshot refers to unregistered room type " + typeName + ".");
+        }
+        return type;
+    }
+
+    /**
+     * Copies a column of ints out of the snapshot and skips to the next section.
+     * @param in The mapped snapshot.
+     * @param count The number of values.
+     * @return The values.
+     */
+    private static int[] readInts(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + count * 4);
+        pad(in);
+        return values;
+    }
+
+    /**
+     * Copies a column of longs out of the snapshot.
+     * @param in The mapped snapshot.
+     * @param count The number of values.
+     * @return The values.
+     */
+    private static long[] readLongs(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + count * 8);
+        return values;
+    }
+
+    /**
+     * Copies a column of doubles out of the snapshot.
+     * @param in The mapped snapshot.
+     * @param count The number of values.
+     * @return The values.
+     */
+    private static double[] readDoubles(ByteBuffer in, int count) {
+        double[] values = new double[count];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + count * 8);
+        return values;
+    }
+
+    /**
+     * Moves a buffer's position up to the next 8-byte boundary, writing zeros if it is being filled.
+     * @param buffer The buffer.
+     */
+    private static void pad(ByteBuffer buffer) {
+        buffer.position(align(buffer.position()));
+    }
+
+    /**
+     * Rounds a size up to a multiple of 8 bytes.
+     * @param size The size in bytes.
+     * @return The aligned size.
+     */
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * The strings of a snapshot, each stored once and referred to by index.
+     */
+    private static final class StringTable {
+
+        /**
+         * The index of each string.
+         * */
+        private final HashMap<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * The UTF-8 bytes of each string, by index.
+         * */
+        private final ArrayList<byte[]> encoded = new ArrayList<>();
+
+        /**
+         * The total number of bytes of all strings.
+         * */
+        private int byteCount;
+
+        /**
+         * Gets the index of a string, adding it to the table if needed.
+         * @param value The string.
+         * @return The index of the string.
+         */
+        int indexOf(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = encoded.size();
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                indexes.put(value, index);
+                encoded.add(bytes);
+                byteCount += bytes.length;
+            }
+            return index;
+        }
+
+        /**
+         * Gets the number of strings in the table.
+         * @return The number of strings.
+         */
+        int count() {
+            return encoded.size();
+        }
+
+        /**
+         * Gets the size of the table as written.
+         * @return The size in bytes.
+         */
+        int size() {
+            return align((encoded.size() + 1) * 4) + align(byteCount);
+        }
+
+        /**
+         * Writes the offsets of the strings followed by their bytes.
+         * @param out The snapshot being written.
+         */
+        void writeTo(ByteBuffer out) {
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.putInt(offset);
+                offset += bytes.length;
+            }
+            out.putInt(offset);
+            pad(out);
+            for (byte[] bytes : encoded) {
+                out.put(bytes);
+            }
+            pad(out);
+        }
+    }
+}
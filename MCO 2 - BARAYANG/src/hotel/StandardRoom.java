@@ -3,6 +3,8 @@
  * Section: S14
  * */
 
+package hotel;
+
 /**
  * Implementation of RoomType for Standard rooms.
  */
@@ -0,0 +1,83 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingStatus;
+import hotel.Hotel;
+import hotel.RoomTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks one guest booking many stays, such as a travel agency or a corporate account.
+ * Every booking lands in the same guest's entry of the guest index, so the time per booking
+ * should stay flat as the number of bookings grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class GuestIndexBenchmark {
+
+    /**
+     * The number of one-night stays booked by the guest.
+     * */
+    @Param({"25000", "50000", "100000"})
+    public int bookingCount;
+
+    /**
+     * The hotel under test, with enough rooms for every stay.
+     * */
+    private Hotel hotel;
+
+    /**
+     * The number of rooms in the hotel.
+     * */
+    private int roomCount;
+
+    /**
+     * Builds an empty hotel before every booking run.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        hotel = new Hotel("Benchmark Hotel");
+        hotel.setBookingHorizon(Hotel.MAX_BOOKING_HORIZON);
+        roomCount = (bookingCount + Hotel.MAX_BOOKING_HORIZON - 2) / (Hotel.MAX_BOOKING_HORIZON - 1);
+        for (int i = 0; i < roomCount; i++) {
+            hotel.addRoom("Room-" + i, RoomTypeRegistry.STANDARD);
+        }
+    }
+
+    /**
+     * Books every stay for the same guest, one booking at a time.
+     * @return The number of reservations the guest holds.
+     */
+    @Benchmark
+    public int bookRepeatGuest() {
+        for (int i = 0; i < bookingCount; i++) {
+            int night = 1 + i / roomCount;
+            BookingStatus status = hotel.simulateBooking("Room-" + (i % roomCount), "Repeat Guest", night, night + 1, "").getStatus();
+            if (status != BookingStatus.BOOKED) {
+                throw new IllegalStateException("Booking " + i + " was " + status + ".");
+            }
+        }
+        return hotel.findReservationsByGuestName("Repeat Guest").size();
+    }
+}
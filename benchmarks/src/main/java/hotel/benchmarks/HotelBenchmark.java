@@ -0,0 +1,177 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingResult;
+import hotel.BookingStatus;
+import hotel.Hotel;
+import hotel.Reservation;
+import hotel.Room;
+import hotel.RoomType;
+import hotel.RoomTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hotel-level hot paths: room and guest lookup, booking and repricing.
+ * The hotel is prefilled with one-night reservations spread over the first
+ * {@link #PREFILLED_NIGHTS} nights; bookings made by the benchmarks use the nights after that.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotelBenchmark {
+
+    /**
+     * The nights at the start of the month that hold the prefilled reservations.
+     * */
+    private static final int PREFILLED_NIGHTS = 20;
+
+    /**
+     * The number of rooms in the hotel.
+     * */
+    @Param({"20", "1000", "20000"})
+    public int roomCount;
+
+    /**
+     * The number of reservations booked before measuring.
+     * */
+    @Param({"100", "400"})
+    public int reservationCount;
+
+    /**
+     * The number of nights in each stay booked by {@link #simulateBooking()}.
+     * */
+    @Param({"1", "3", "7"})
+    public int stayLength;
+
+    /**
+     * The hotel under test.
+     * */
+    private Hotel hotel;
+
+    /**
+     * The names of the rooms, including differently cased copies to exercise case-insensitive lookup.
+     * */
+    private String[] roomNames;
+
+    /**
+     * The names of the guests holding the prefilled reservations.
+     * */
+    private String[] guestNames;
+
+    /**
+     * The position of the next name or room to use.
+     * */
+    private int cursor;
+
+    /**
+     * The number of rooms whose first night is prefilled, so that booking it is rejected.
+     * */
+    private int fullRooms;
+
+    /**
+     * Builds the hotel. It is rebuilt every iteration because each updateBasePrice call keeps
+     * a new rate version in the hotel's audit history.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (reservationCount > roomCount * PREFILLED_NIGHTS) {
+            throw new IllegalStateException(reservationCount + " one-night reservations do not fit in " + roomCount + " rooms.");
+        }
+        RoomType[] types = {RoomTypeRegistry.STANDARD, RoomTypeRegistry.DELUXE, RoomTypeRegistry.EXECUTIVE};
+        hotel = new Hotel("Benchmark Hotel");
+        roomNames = new String[roomCount * 2];
+        for (int i = 0; i < roomCount; i++) {
+            String name = "Room-" + i;
+            hotel.addRoom(name, types[i % types.length]);
+            roomNames[2 * i] = name;
+            roomNames[2 * i + 1] = name.toUpperCase();
+        }
+
+        guestNames = new String[reservationCount];
+        for (int i = 0; i < reservationCount; i++) {
+            guestNames[i] = "Guest-" + i;
+            int night = 1 + i / roomCount;
+            hotel.simulateBooking("Room-" + (i % roomCount), guestNames[i], night, night + 1, "");
+        }
+
+        fullRooms = Math.min(roomCount, reservationCount);
+        for (int i = 0; i < fullRooms; i++) {
+            BookingStatus status = hotel.simulateBooking("Room-" + i, "Walk-in", 1, 1 + stayLength, "").getStatus();
+            if (status != BookingStatus.ROOM_NOT_AVAILABLE) {
+                throw new IllegalStateException("simulateBookingRejected would measure " + status + " for Room-" + i + ".");
+            }
+        }
+    }
+
+    @Benchmark
+    public Room doesRoomExist() {
+        cursor = (cursor + 1) % roomNames.length;
+        return hotel.doesRoomExist(roomNames[cursor]);
+    }
+
+    @Benchmark
+    public Room doesRoomExistMissing() {
+        return hotel.doesRoomExist("No Such Room");
+    }
+
+    @Benchmark
+    public Reservation findReservationByGuestName() {
+        cursor = (cursor + 1) % guestNames.length;
+        return hotel.findReservationByGuestName(guestNames[cursor]);
+    }
+
+    /**
+     * Books a free stay after the prefilled nights and cancels it again, so the hotel
+     * state is the same before and after every invocation.
+     */
+    @Benchmark
+    public BookingResult simulateBooking() {
+        cursor = (cursor + 1) % roomCount;
+        int checkIn = PREFILLED_NIGHTS + 1 + cursor % (31 - PREFILLED_NIGHTS - stayLength);
+        BookingResult result = hotel.simulateBooking("Room-" + cursor, "Walk-in", checkIn, checkIn + stayLength, "");
+        hotel.removeReservation("Walk-in");
+        return result;
+    }
+
+    /**
+     * Tries to book a prefilled night, so every invocation is rejected as unavailable. Only
+     * the rooms whose first night is prefilled are used; setUp checks that each one rejects.
+     */
+    @Benchmark
+    public BookingResult simulateBookingRejected() {
+        cursor = (cursor + 1) % fullRooms;
+        return hotel.simulateBooking("Room-" + cursor, "Walk-in", 1, 1 + stayLength, "");
+    }
+
+    @Benchmark
+    public List<Room> findAvailableRooms() {
+        return hotel.findAvailableRooms(PREFILLED_NIGHTS - stayLength + 2, PREFILLED_NIGHTS + 2, null, 10);
+    }
+
+    @Benchmark
+    public void updateBasePrice() {
+        cursor++;
+        hotel.updateBasePrice((cursor & 1) == 0 ? 1299.0 : 1499.0);
+    }
+}
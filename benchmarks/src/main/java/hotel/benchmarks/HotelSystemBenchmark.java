@@ -0,0 +1,76 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.Hotel;
+import hotel.HotelSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks hotel lookup by name across a chain of hotels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotelSystemBenchmark {
+
+    /**
+     * The number of hotels in the system.
+     * */
+    @Param({"10", "1000"})
+    public int hotelCount;
+
+    /**
+     * The system under test.
+     * */
+    private HotelSystem hotelSystem;
+
+    /**
+     * The names of the hotels, in a different case than they were created with.
+     * */
+    private String[] hotelNames;
+
+    /**
+     * The position of the next name to look up.
+     * */
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        hotelSystem = new HotelSystem();
+        hotelNames = new String[hotelCount];
+        for (int i = 0; i < hotelCount; i++) {
+            hotelSystem.createHotel("Hotel " + i);
+            hotelNames[i] = "HOTEL " + i;
+        }
+    }
+
+    @Benchmark
+    public Hotel doesHotelExist() {
+        cursor = (cursor + 1) % hotelNames.length;
+        return hotelSystem.doesHotelExist(hotelNames[cursor]);
+    }
+
+    @Benchmark
+    public Hotel doesHotelExistMissing() {
+        return hotelSystem.doesHotelExist("No Such Hotel");
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingResult;
+import hotel.Hotel;
+import hotel.HotelSystem;
+import hotel.Journal;
+import hotel.RoomTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks booking and cancelling with the journal on, against the same work with it off.
+ * Every operation writes two records and waits for both to reach the disk, so the numbers
+ * show how much the durability window lets concurrent threads share each sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JournalBenchmark {
+
+    /**
+     * The number of rooms in the hotel, enough for every benchmark thread to have its own.
+     * */
+    private static final int ROOM_COUNT = 64;
+
+    /**
+     * The durability window in milliseconds, or "off" to run without a journal.
+     * */
+    @Param({"off", "0", "2"})
+    public String window;
+
+    /**
+     * The hotel under test.
+     * */
+    private Hotel hotel;
+
+    /**
+     * The journal file, or null when the journal is off.
+     * */
+    private Path file;
+
+    /**
+     * The journal, or null when it is off.
+     * */
+    private Journal journal;
+
+    /**
+     * Hands each benchmark thread its own room.
+     * */
+    private final AtomicInteger nextRoom = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws IOException {
+        HotelSystem hotelSystem = new HotelSystem();
+        if (!window.equals("off")) {
+            file = Files.createTempFile("hotel-benchmark", ".journal");
+            journal = Journal.open(file, Long.parseLong(window));
+        }
+        hotelSystem.createHotel("Benchmark Hotel");
+        hotel = hotelSystem.doesHotelExist("Benchmark Hotel");
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            hotel.addRoom("Room-" + i, RoomTypeRegistry.STANDARD);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * The room and guest name of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Guest {
+
+        /**
+         * The room the thread books.
+         * */
+        String roomName;
+
+        /**
+         * The name the thread books under.
+         * */
+        String guestName;
+
+        @Setup
+        public void setUp(JournalBenchmark benchmark) {
+            int room = benchmark.nextRoom.getAndIncrement() % ROOM_COUNT;
+            roomName = "Room-" + room;
+            guestName = "Guest-" + room;
+        }
+    }
+
+    /**
+     * Books a stay and cancels it again, so the hotel state is the same before and after
+     * every invocation.
+     */
+    @Benchmark
+    public BookingResult bookAndCancel(Guest guest) {
+        BookingResult result = hotel.simulateBooking(guest.roomName, guest.guestName, 10, 13, "");
+        hotel.removeReservation(guest.guestName);
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingRequest;
+import hotel.Hotel;
+import hotel.HotelSystem;
+import hotel.Journal;
+import hotel.RoomTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks starting up from a journal: reading it and replaying every record into an
+ * empty hotel system. The journal holds one hotel and the given number of bookings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalRecoveryBenchmark {
+
+    /**
+     * The number of rooms in the journaled hotel.
+     * */
+    private static final int ROOM_COUNT = 1000;
+
+    /**
+     * The number of bookings in the journal.
+     * */
+    @Param({"1000", "100000"})
+    public int bookingCount;
+
+    /**
+     * The journal file.
+     * */
+    private Path file;
+
+    /**
+     * Writes the journal once. Bookings are made in batches so that building a large journal
+     * does not wait for a sync per booking.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("hotel-recovery", ".journal");
+        HotelSystem hotelSystem = new HotelSystem();
+        Journal journal = Journal.open(file, 0);
+        try {
+            hotelSystem.createHotel("Benchmark Hotel");
+            Hotel hotel = hotelSystem.doesHotelExist("Benchmark Hotel");
+            for (int i = 0; i < ROOM_COUNT; i++) {
+                hotel.addRoom("Room-" + i, RoomTypeRegistry.STANDARD);
+            }
+            hotel.setBookingHorizon(Hotel.MAX_BOOKING_HORIZON);
+            if (bookingCount > ROOM_COUNT * (Hotel.MAX_BOOKING_HORIZON - 1)) {
+                throw new IllegalStateException(bookingCount + " one-night bookings do not fit in " + ROOM_COUNT + " rooms.");
+            }
+            List<BookingRequest> batch = new ArrayList<>(ROOM_COUNT);
+            for (int i = 0; i < bookingCount; i++) {
+                int night = 1 + i / ROOM_COUNT;
+                batch.add(new BookingRequest("Room-" + (i % ROOM_COUNT), "Guest-" + i, night, night + 1, ""));
+                if (batch.size() == ROOM_COUNT || i == bookingCount - 1) {
+                    hotel.bookBatch(batch, false);
+                    batch.clear();
+                }
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public long recover() throws IOException {
+        new HotelSystem();
+        try (Journal journal = Journal.open(file, 0)) {
+            return journal.getRecoveredRecords();
+        }
+    }
+}
@@ -0,0 +1,746 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingResult;
+import hotel.BookingStatus;
+import hotel.Hotel;
+import hotel.HotelSystem;
+import hotel.LatencyHistogram;
+import hotel.Reservation;
+import hotel.RoomType;
+import hotel.RoomTypeRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Headless load generator for the hotel system. It builds a number of hotels with a number of
+ * rooms each, then sends a mix of bookings, cancellations, lookups and availability queries
+ * from several threads for a fixed time, and reports throughput, latency percentiles and
+ * allocation rate for each kind of operation.
+ * <p>
+ * Every setting is a system property starting with {@code load.}, and can also be given on
+ * the command line as {@code name=value}, for example:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar hotel.benchmarks.LoadGenerator \
+ *     threads=8 hotels=20 rooms=500 mix=book:60,cancel:20,lookup:15,availability:5 \
+ *     stay=geometric:3 checkin=zipf:1.2 duration=30
+ * </pre>
+ * Each thread draws its requests from its own random stream seeded from {@code seed}, so two
+ * runs with the same settings send the same requests. The hotel system's JMX metrics are
+ * published while the generator runs and can be watched with JConsole.
+ */
+public class LoadGenerator {
+
+    /**
+     * The prefix of the system properties that configure the generator.
+     * */
+    public static final String PROPERTY_PREFIX = "load.";
+
+    /**
+     * The settings and their defaults, in the order they are listed in the usage message.
+     * */
+    private static final String[][] SETTINGS = {
+            {"hotels", "4", "number of hotels"},
+            {"rooms", "200", "rooms per hotel"},
+            {"horizon", String.valueOf(Hotel.DEFAULT_BOOKING_HORIZON), "booking horizon of each hotel, in nights"},
+            {"threads", String.valueOf(Runtime.getRuntime().availableProcessors()), "number of threads sending requests"},
+            {"mix", "book:40,cancel:20,lookup:30,availability:10", "relative weight of each operation"},
+            {"stay", "uniform:1-7", "stay length in nights: uniform:MIN-MAX or geometric:MEAN"},
+            {"checkin", "uniform", "check-in date: uniform or zipf:EXPONENT, favouring early dates"},
+            {"warmup", "5", "seconds of load before measuring"},
+            {"duration", "10", "seconds of load measured"},
+            {"seed", "42", "seed of the request streams"},
+    };
+
+    /**
+     * The number of guest names the generator books under.
+     * */
+    private static final int GUEST_NAMES = 1024;
+
+    /**
+     * The number of free rooms an availability query asks for.
+     * */
+    private static final int AVAILABILITY_LIMIT = 10;
+
+    /**
+     * The operations, indexed by ordinal.
+     * */
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * The phase in which load is sent but not measured.
+     * */
+    private static final int WARMUP = 0;
+
+    /**
+     * The phase in which load is sent and measured.
+     * */
+    private static final int MEASURE = 1;
+
+    /**
+     * The phase in which the threads stop.
+     * */
+    private static final int DONE = 2;
+
+    /**
+     * The hotel system under load.
+     * */
+    private final HotelSystem hotelSystem;
+
+    /**
+     * The names of the hotels.
+     * */
+    private final String[] hotelNames;
+
+    /**
+     * The hotels, in the same order as their names.
+     * */
+    private final Hotel[] hotels;
+
+    /**
+     * The names of the rooms, the same in every hotel.
+     * */
+    private final String[] roomNames;
+
+    /**
+     * The names of the guests.
+     * */
+    private final String[] guestNames;
+
+    /**
+     * The booking horizon of every hotel.
+     * */
+    private final int horizon;
+
+    /**
+     * The number of threads sending requests.
+     * */
+    private final int threads;
+
+    /**
+     * The cumulative weight of each operation, indexed by operation ordinal.
+     * */
+    private final int[] mix;
+
+    /**
+     * The distribution of stay lengths.
+     * */
+    private final Distribution stays;
+
+    /**
+     * The distribution of check-in dates.
+     * */
+    private final Distribution checkIns;
+
+    /**
+     * The number of seconds of load before measuring.
+     * */
+    private final long warmupSeconds;
+
+    /**
+     * The number of seconds of load measured.
+     * */
+    private final long durationSeconds;
+
+    /**
+     * The seed of the request streams.
+     * */
+    private final long seed;
+
+    /**
+     * The latency of each operation during the measured phase, indexed by operation ordinal.
+     * */
+    private final LatencyHistogram[] latencies;
+
+    /**
+     * The current phase of the run.
+     * */
+    private volatile int phase;
+
+    /**
+     * Builds the hotels and rooms described by the load settings.
+     * @throws IllegalArgumentException if a setting is not valid.
+     */
+    public LoadGenerator() {
+        int hotelCount = positive("hotels");
+        int roomCount = positive("rooms");
+        this.horizon = positive("horizon");
+        this.threads = positive("threads");
+        this.mix = parseMix(setting("mix"));
+        this.stays = Distribution.parseStay(setting("stay"), horizon - 1);
+        this.checkIns = Distribution.parseCheckIn(setting("checkin"), horizon - 1);
+        this.warmupSeconds = nonNegative("warmup");
+        this.durationSeconds = positive("duration");
+        this.seed = Long.parseLong(setting("seed"));
+
+        this.hotelSystem = new HotelSystem();
+        this.hotelNames = new String[hotelCount];
+        this.hotels = new Hotel[hotelCount];
+        this.roomNames = new String[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            roomNames[i] = "R" + (i + 1);
+        }
+        RoomType[] types = {RoomTypeRegistry.STANDARD, RoomTypeRegistry.DELUXE, RoomTypeRegistry.EXECUTIVE};
+        for (int h = 0; h < hotelCount; h++) {
+            hotelNames[h] = "Load Hotel " + (h + 1);
+            hotelSystem.createHotel(hotelNames[h]);
+            hotels[h] = hotelSystem.doesHotelExist(hotelNames[h]);
+            hotels[h].setBookingHorizon(horizon);
+            for (int i = 0; i < roomCount; i++) {
+                hotels[h].addRoom(roomNames[i], types[i % types.length]);
+            }
+        }
+        this.guestNames = new String[GUEST_NAMES];
+        for (int i = 0; i < GUEST_NAMES; i++) {
+            guestNames[i] = "Guest " + (i + 1);
+        }
+        this.latencies = new LatencyHistogram[Operation.values().length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadGenerator generator;
+        try {
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("Expected name=value but got " + arg + ".");
+                }
+                String name = arg.substring(0, equals);
+                setting(name); // Reject unknown settings
+                System.setProperty(PROPERTY_PREFIX + name, arg.substring(equals + 1));
+            }
+            generator = new LoadGenerator();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(usage());
+            System.exit(1);
+            return;
+        }
+        generator.run();
+    }
+
+    /**
+     * Describes the settings of the generator.
+     * @return The usage message.
+     */
+    private static String usage() {
+        StringBuilder usage = new StringBuilder("Settings (name=value or -D" + PROPERTY_PREFIX + "name=value):\n");
+        for (String[] setting : SETTINGS) {
+            usage.append(String.format("  %-13s %s (default %s)%n", setting[0], setting[2], setting[1]));
+        }
+        return usage.toString();
+    }
+
+    /**
+     * Gets the value of a setting.
+     * @param name The name of the setting, without the prefix.
+     * @return The value of the setting, or its default.
+     */
+    private static String setting(String name) {
+        for (String[] setting : SETTINGS) {
+            if (setting[0].equals(name)) {
+                return System.getProperty(PROPERTY_PREFIX + name, setting[1]).trim();
+            }
+        }
+        throw new IllegalArgumentException("Unknown setting " + name + ".");
+    }
+
+    /**
+     * Gets the value of a setting that must be a whole number of at least zero.
+     * @param name The name of the setting.
+     * @return The value of the setting.
+     * @throws IllegalArgumentException if the value is not a whole number of at least zero.
+     */
+    private static int nonNegative(String name) {
+        int value;
+        try {
+            value = Integer.parseInt(setting(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number.");
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " cannot be negative.");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value of a setting that must be a whole number of at least one.
+     * @param name The name of the setting.
+     * @return The value of the setting.
+     * @throws IllegalArgumentException if the value is not a whole number of at least one.
+     */
+    private static int positive(String name) {
+        int value = nonNegative(name);
+        if (value == 0) {
+            throw new IllegalArgumentException(name + " must be at least 1.");
+        }
+        return value;
+    }
+
+    /**
+     * Parses an operation mix such as {@code book:40,cancel:20,lookup:30,availability:10}.
+     * Operations that are left out get no weight.
+     * @param spec The mix to parse.
+     * @return The cumulative weight of each operation, indexed by operation ordinal.
+     * @throws IllegalArgumentException if the mix is not valid.
+     */
+    private static int[] parseMix(String spec) {
+        int[] weights = new int[Operation.values().length];
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix but got " + part + ".");
+            }
+            Operation operation = Operation.find(pair[0].trim());
+            try {
+                weights[operation.ordinal()] = Integer.parseInt(pair[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Weight of " + pair[0].trim() + " must be a whole number.");
+            }
+            if (weights[operation.ordinal()] < 0) {
+                throw new IllegalArgumentException("Weight of " + pair[0].trim() + " cannot be negative.");
+            }
+        }
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] += weights[i - 1];
+        }
+        if (weights[weights.length - 1] == 0) {
+            throw new IllegalArgumentException("The mix must give some operation a weight.");
+        }
+        return weights;
+    }
+
+    /**
+     * Sends load from every thread through the warm-up and measured phases and prints the report.
+     * @throws InterruptedException if the generator is interrupted while waiting.
+     */
+    public void run() throws InterruptedException {
+        System.out.printf("%d hotels x %d rooms, horizon %d, %d threads, mix %s, stay %s, check-in %s%n",
+                hotels.length, roomNames.length, horizon, threads, setting("mix"), setting("stay"), setting("checkin"));
+
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        phase = WARMUP;
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(new SplittableRandom(seed + i));
+            running[i] = new Thread(workers[i], "load-" + (i + 1));
+            running[i].start();
+        }
+        Thread.sleep(warmupSeconds * 1000);
+        long start = System.nanoTime();
+        phase = MEASURE;
+        Thread.sleep(durationSeconds * 1000);
+        phase = DONE;
+        long elapsed = System.nanoTime() - start;
+        for (Thread thread : running) {
+            thread.join();
+        }
+        report(workers, elapsed / 1e9);
+    }
+
+    /**
+     * Prints the throughput, latency and allocation of the measured phase.
+     * @param workers The workers that sent the load.
+     * @param seconds The length of the measured phase in seconds.
+     */
+    private void report(Worker[] workers, double seconds) {
+        long[] counts = new long[Operation.values().length];
+        long[] outcomes = new long[BookingStatus.values().length];
+        long cancelMisses = 0;
+        long allocated = 0;
+        for (Worker worker : workers) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += worker.counts[i];
+            }
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] += worker.outcomes[i];
+            }
+            cancelMisses += worker.cancelMisses;
+            allocated += worker.allocatedBytes;
+        }
+
+        System.out.printf("Measured %.2f s after %d s of warm-up%n%n", seconds, warmupSeconds);
+        System.out.printf("%-13s %12s %12s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ops/s", "mean us", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram latency = latencies[operation.ordinal()];
+            long count = counts[operation.ordinal()];
+            total += count;
+            if (count == 0) {
+                continue;
+            }
+            System.out.printf("%-13s %12d %12.0f %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.label, count, count / seconds, latency.getMeanNanos() / 1e3,
+                    latency.getP50Nanos() / 1e3, latency.getP90Nanos() / 1e3, latency.getP99Nanos() / 1e3,
+                    latency.getP999Nanos() / 1e3, latency.getMaxNanos() / 1e3);
+        }
+        System.out.printf("%-13s %12d %12.0f%n%n", "total", total, total / seconds);
+
+        StringBuilder bookings = new StringBuilder("Bookings:");
+        for (BookingStatus status : BookingStatus.values()) {
+            if (outcomes[status.ordinal()] > 0) {
+                bookings.append(' ').append(status).append('=').append(outcomes[status.ordinal()]);
+            }
+        }
+        System.out.println(bookings);
+        System.out.printf("Cancellations: %d, %d with nothing to cancel%n",
+                counts[Operation.CANCEL.ordinal()], cancelMisses);
+        long reservations = 0;
+        for (Hotel hotel : hotels) {
+            reservations += hotel.getReservationCount();
+        }
+        System.out.printf("Reservations held at the end: %d%n", reservations);
+        if (allocated < 0 || total == 0) {
+            System.out.println("Allocation: not measured on this JVM");
+        } else {
+            System.out.printf("Allocation: %.1f MB/s, %.0f B/op%n", allocated / seconds / 1e6, (double) allocated / total);
+        }
+    }
+
+    /**
+     * Gets the number of bytes the current thread has allocated.
+     * @return The bytes allocated, or -1 if the JVM does not measure allocation per thread.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+            if (allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled()) {
+                return allocation.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The operations the generator sends.
+     */
+    private enum Operation {
+        BOOK("book"),
+        CANCEL("cancel"),
+        LOOKUP("lookup"),
+        AVAILABILITY("availability");
+
+        /**
+         * The name of the operation in the mix and the report.
+         * */
+        final String label;
+
+        /**
+         * Initializes an operation.
+         * @param label The name of the operation in the mix and the report.
+         */
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Finds an operation by its name in the mix.
+         * @param label The name of the operation.
+         * @return The operation.
+         * @throws IllegalArgumentException if there is no operation with the name.
+         */
+        static Operation find(String label) {
+            for (Operation operation : values()) {
+                if (operation.label.equalsIgnoreCase(label)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + label + " in mix.");
+        }
+    }
+
+    /**
+     * A distribution over the whole numbers from 1 to a maximum, sampled by a binary search of
+     * its cumulative weights so that drawing a value never allocates.
+     */
+    private static final class Distribution {
+
+        /**
+         * The cumulative probability of each value: entry i covers the values 1 to i + 1.
+         * */
+        private final double[] cumulative;
+
+        /**
+         * Initializes a distribution from the weight of each value.
+         * @param weights The weight of each value: entry i is the weight of value i + 1.
+         */
+        private Distribution(double[] weights) {
+            cumulative = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < cumulative.length; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        /**
+         * Parses a stay length distribution: {@code uniform:MIN-MAX} or {@code geometric:MEAN}.
+         * Longer stays are cut to the longest stay the horizon allows.
+         * @param spec The distribution to parse.
+         * @param maxNights The longest stay the horizon allows.
+         * @return The distribution.
+         * @throws IllegalArgumentException if the distribution is not valid.
+         */
+        static Distribution parseStay(String spec, int maxNights) {
+            String lower = spec.toLowerCase(Locale.ROOT);
+            double[] weights = new double[maxNights];
+            try {
+                if (lower.startsWith("uniform:")) {
+                    String[] range = lower.substring("uniform:".length()).split("-");
+                    int min = Integer.parseInt(range[0].trim());
+                    int max = range.length > 1 ? Integer.parseInt(range[1].trim()) : min;
+                    if (min < 1 || max < min) {
+                        throw new IllegalArgumentException("Stay range must run from at least 1 night upwards.");
+                    }
+                    for (int nights = min; nights <= max; nights++) {
+                        weights[Math.min(nights, maxNights) - 1] += 1;
+                    }
+                    return new Distribution(weights);
+                } else if (lower.startsWith("geometric:")) {
+                    double mean = Double.parseDouble(lower.substring("geometric:".length()).trim());
+                    if (!(mean >= 1)) {
+                        throw new IllegalArgumentException("Mean stay must be at least 1 night.");
+                    }
+                    double p = 1 / mean;
+                    for (int nights = 1; nights <= maxNights; nights++) {
+                        weights[nights - 1] = p * Math.pow(1 - p, nights - 1);
+                    }
+                    weights[maxNights - 1] += Math.pow(1 - p, maxNights);
+                    return new Distribution(weights);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cannot read the numbers in stay " + spec + ".");
+            }
+            throw new IllegalArgumentException("Stay must be uniform:MIN-MAX or geometric:MEAN.");
+        }
+
+        /**
+         * Parses a check-in date distribution: {@code uniform} or {@code zipf:EXPONENT}, which
+         * makes date d as likely as 1 / d^EXPONENT.
+         * @param spec The distribution to parse.
+         * @param lastDate The last date a stay can start on.
+         * @return The distribution.
+         * @throws IllegalArgumentException if the distribution is not valid.
+         */
+        static Distribution parseCheckIn(String spec, int lastDate) {
+            String lower = spec.toLowerCase(Locale.ROOT);
+            double exponent;
+            if (lower.equals("uniform")) {
+                exponent = 0;
+            } else if (lower.startsWith("zipf:")) {
+                try {
+                    exponent = Double.parseDouble(lower.substring("zipf:".length()).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Cannot read the exponent in check-in " + spec + ".");
+                }
+                if (!(exponent >= 0)) {
+                    throw new IllegalArgumentException("Check-in exponent cannot be negative.");
+                }
+            } else {
+                throw new IllegalArgumentException("Check-in must be uniform or zipf:EXPONENT.");
+            }
+            if (lastDate < 1) {
+                throw new IllegalArgumentException("horizon must be at least 2.");
+            }
+            double[] weights = new double[lastDate];
+            for (int date = 1; date <= lastDate; date++) {
+                weights[date - 1] = Math.pow(date, -exponent);
+            }
+            return new Distribution(weights);
+        }
+
+        /**
+         * Draws a value.
+         * @param random The random stream to draw from.
+         * @return A value from 1 to the maximum.
+         */
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1) + 1;
+        }
+    }
+
+    /**
+     * A thread's share of the load. Each worker remembers the reservations it booked, oldest
+     * first, so that it cancels its own bookings.
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The random stream the worker draws its requests from.
+         * */
+        private final SplittableRandom random;
+
+        /**
+         * The number of each operation sent while measuring, indexed by operation ordinal.
+         * */
+        final long[] counts = new long[Operation.values().length];
+
+        /**
+         * The number of bookings with each outcome while measuring, indexed by status ordinal.
+         * */
+        final long[] outcomes = new long[BookingStatus.values().length];
+
+        /**
+         * The number of cancellations while measuring that found nothing to cancel.
+         * */
+        long cancelMisses;
+
+        /**
+         * The bytes allocated while measuring, or -1 if allocation is not measured.
+         * */
+        long allocatedBytes;
+
+        /**
+         * The reservations booked and not yet cancelled, as a ring in booking order.
+         * */
+        private Reservation[] booked = new Reservation[64];
+
+        /**
+         * The hotel index of each reservation in the ring.
+         * */
+        private int[] bookedHotels = new int[64];
+
+        /**
+         * The position of the oldest reservation in the ring.
+         * */
+        private int head;
+
+        /**
+         * The number of reservations in the ring.
+         * */
+        private int size;
+
+        /**
+         * Initializes a new worker.
+         * @param random The random stream the worker draws its requests from.
+         */
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            long startBytes = 0;
+            boolean measuring = false;
+            int current;
+            while ((current = phase) != DONE) {
+                if (current == MEASURE && !measuring) {
+                    measuring = true;
+                    startBytes = allocatedBytes();
+                }
+                Operation operation = pick();
+                long start = System.nanoTime();
+                boolean hit = send(operation, measuring);
+                long elapsed = System.nanoTime() - start;
+                if (measuring) {
+                    latencies[operation.ordinal()].record(elapsed);
+                    counts[operation.ordinal()]++;
+                    if (operation == Operation.CANCEL && !hit) {
+                        cancelMisses++;
+                    }
+                }
+            }
+            long endBytes = allocatedBytes();
+            allocatedBytes = measuring && startBytes >= 0 && endBytes >= 0 ? endBytes - startBytes : -1;
+        }
+
+        /**
+         * Draws the next operation from the mix.
+         * @return The operation to send.
+         */
+        private Operation pick() {
+            int draw = random.nextInt(mix[mix.length - 1]);
+            int i = 0;
+            while (draw >= mix[i]) {
+                i++;
+            }
+            return OPERATIONS[i];
+        }
+
+        /**
+         * Sends one operation.
+         * @param operation The operation to send.
+         * @param measuring Whether booking outcomes are being counted.
+         * @return False if a cancellation found nothing to cancel; true otherwise.
+         */
+        private boolean send(Operation operation, boolean measuring) {
+            int hotel = random.nextInt(hotels.length);
+            String roomName = roomNames[random.nextInt(roomNames.length)];
+            switch (operation) {
+                case BOOK:
+                    int checkIn = checkIns.sample(random);
+                    int checkOut = Math.min(checkIn + stays.sample(random), horizon);
+                    BookingResult result = hotelSystem.simulateBooking(hotelNames[hotel], roomName,
+                            guestNames[random.nextInt(GUEST_NAMES)], checkIn, checkOut, "");
+                    if (measuring) {
+                        outcomes[result.getStatus().ordinal()]++;
+                    }
+                    if (result.isBooked()) {
+                        remember(result.getReservation(), hotel);
+                    }
+                    return true;
+                case CANCEL:
+                    if (size == 0) {
+                        return false;
+                    }
+                    Reservation reservation = booked[head];
+                    int bookedHotel = bookedHotels[head];
+                    booked[head] = null;
+                    head = (head + 1) & (booked.length - 1);
+                    size--;
+                    hotels[bookedHotel].removeReservation(reservation);
+                    return true;
+                case LOOKUP:
+                    Hotel found = hotelSystem.doesHotelExist(hotelNames[hotel]);
+                    return found != null && found.doesRoomExist(roomName) != null;
+                case AVAILABILITY:
+                    int from = checkIns.sample(random);
+                    int to = Math.min(from + stays.sample(random), horizon);
+                    return !hotels[hotel].findAvailableRooms(from, to, null, AVAILABILITY_LIMIT).isEmpty();
+                default:
+                    throw new IllegalStateException("Unknown operation " + operation + ".");
+            }
+        }
+
+        /**
+         * Adds a reservation to the end of the ring, growing it when full.
+         * @param reservation The reservation booked.
+         * @param hotel The index of the hotel it was booked in.
+         */
+        private void remember(Reservation reservation, int hotel) {
+            if (size == booked.length) {
+                Reservation[] grownBooked = new Reservation[size * 2];
+                int[] grownHotels = new int[size * 2];
+                for (int i = 0; i < size; i++) {
+                    int from = (head + i) & (booked.length - 1);
+                    grownBooked[i] = booked[from];
+                    grownHotels[i] = bookedHotels[from];
+                }
+                booked = grownBooked;
+                bookedHotels = grownHotels;
+                head = 0;
+            }
+            int tail = (head + size) & (booked.length - 1);
+            booked[tail] = reservation;
+            bookedHotels[tail] = hotel;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingResult;
+import hotel.Hotel;
+import hotel.HotelSystem;
+import hotel.LatencyHistogram;
+import hotel.Room;
+import hotel.RoomTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the cost of recording metrics: a histogram shared by every thread, and room
+ * lookups and rejected bookings with metrics on. {@link Off} runs the same lookups in a JVM
+ * with metrics turned off, so the difference is the whole cost of the timing calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class MetricsBenchmark {
+
+    /**
+     * The number of rooms in the hotel.
+     * */
+    private static final int ROOM_COUNT = 1000;
+
+    /**
+     * The histogram every thread records into.
+     * */
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * The hotel under test.
+     * */
+    private Hotel hotel;
+
+    /**
+     * The names of the rooms, looked up in turn.
+     * */
+    private String[] roomNames;
+
+    @Setup
+    public void setUp() {
+        HotelSystem hotelSystem = new HotelSystem();
+        hotelSystem.createHotel("Metrics Hotel");
+        hotel = hotelSystem.doesHotelExist("Metrics Hotel");
+        roomNames = new String[ROOM_COUNT];
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            roomNames[i] = "R" + i;
+            hotel.addRoom(roomNames[i], RoomTypeRegistry.STANDARD);
+        }
+    }
+
+    @Benchmark
+    public void recordLatency() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    public Room doesRoomExist(ThreadCursor cursor) {
+        return hotel.doesRoomExist(roomNames[cursor.next()]);
+    }
+
+    @Benchmark
+    public BookingResult simulateBookingRejected(ThreadCursor cursor) {
+        return hotel.simulateBooking(roomNames[cursor.next()], "Guest", 2, 1, "");
+    }
+
+    /**
+     * The room each benchmark thread looks up next.
+     */
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+
+        /**
+         * The index of the next room name.
+         * */
+        private int index;
+
+        /**
+         * Moves to the next room name.
+         * @return The index of the room name to use.
+         */
+        int next() {
+            int current = index;
+            index = current + 1 == ROOM_COUNT ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    /**
+     * The same benchmarks with metrics turned off.
+     */
+    @Fork(value = 1, jvmArgsAppend = "-Dhotel.metrics=false")
+    public static class Off extends MetricsBenchmark {
+    }
+}
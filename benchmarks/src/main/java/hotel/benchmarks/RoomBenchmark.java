@@ -0,0 +1,80 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.Room;
+import hotel.RoomTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the availability calendar of a single room.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomBenchmark {
+
+    /**
+     * The number of nights in each checked or booked stay.
+     * */
+    @Param({"1", "3", "7"})
+    public int stayLength;
+
+    /**
+     * The room under test, booked on every other week.
+     * */
+    private Room room;
+
+    /**
+     * The check-in date of a stay that is free.
+     * */
+    private int freeCheckIn;
+
+    /**
+     * The check-in date of a stay whose last night is booked.
+     * */
+    private int bookedCheckIn;
+
+    @Setup
+    public void setUp() {
+        room = new Room("101", 1299.0, RoomTypeRegistry.STANDARD);
+        room.bookRoom(8, 15);
+        room.bookRoom(22, 29);
+        freeCheckIn = 1;
+        bookedCheckIn = 8 - stayLength + 1;
+    }
+
+    @Benchmark
+    public boolean isAvailableFree() {
+        return room.isAvailable(freeCheckIn, freeCheckIn + stayLength);
+    }
+
+    @Benchmark
+    public boolean isAvailableBooked() {
+        return room.isAvailable(bookedCheckIn, bookedCheckIn + stayLength);
+    }
+
+    @Benchmark
+    public void bookAndCancel() {
+        room.bookRoom(freeCheckIn, freeCheckIn + stayLength);
+        room.cancelBooking(freeCheckIn, freeCheckIn + stayLength);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Author: Larkin Patrick C. Barayang
+ * Section: S14
+ * */
+
+package hotel.benchmarks;
+
+import hotel.BookingRequest;
+import hotel.Hotel;
+import hotel.HotelSystem;
+import hotel.RoomTypeRegistry;
+import hotel.Snapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving the hotel system to a snapshot and starting up from one. The system holds
+ * one hotel with the given number of one-night reservations spread over its rooms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SnapshotBenchmark {
+
+    /**
+     * The number of rooms in the hotel.
+     * */
+    private static final int ROOM_COUNT = 2000;
+
+    /**
+     * The number of reservations in the snapshot.
+     * */
+    @Param({"1000", "100000", "1000000"})
+    public int reservationCount;
+
+    /**
+     * The snapshot file.
+     * */
+    private Path file;
+
+    /**
+     * Books the reservations and writes the snapshot once.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        HotelSystem hotelSystem = new HotelSystem();
+        hotelSystem.createHotel("Benchmark Hotel");
+        Hotel hotel = hotelSystem.doesHotelExist("Benchmark Hotel");
+        hotel.setBookingHorizon(Hotel.MAX_BOOKING_HORIZON);
+        if (reservationCount > ROOM_COUNT * (Hotel.MAX_BOOKING_HORIZON - 1)) {
+            throw new IllegalStateException(reservationCount + " one-night bookings do not fit in " + ROOM_COUNT + " rooms.");
+        }
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            hotel.addRoom("Room-" + i, RoomTypeRegistry.getTypes().get(i % 3));
+        }
+        List<BookingRequest> batch = new ArrayList<>(ROOM_COUNT);
+        for (int i = 0; i < reservationCount; i++) {
+            int night = 1 + i / ROOM_COUNT;
+            batch.add(new BookingRequest("Room-" + (i % ROOM_COUNT), "Guest-" + i, night, night + 1, ""));
+            if (batch.size() == ROOM_COUNT || i == reservationCount - 1) {
+                hotel.bookBatch(batch, false);
+                batch.clear();
+            }
+        }
+        file = Files.createTempFile("hotel-benchmark", ".snapshot");
+        Snapshot.write(file, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        Snapshot.write(file, 1);
+    }
+
+    /**
+     * Loads the snapshot into an empty hotel system. The system loaded by the previous
+     * invocation becomes garbage when the next one starts.
+     */
+    @Benchmark
+    public long load() throws IOException {
+        new HotelSystem();
+        return Snapshot.load(file);
+    }
+}